@@ -0,0 +1,61 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.ChessJson;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import websocket.messages.LoadGameMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of preparing the LOAD_GAME broadcast that follows every move, by
+ * audience size: serializing the game for each recipient against
+ * serializing it once and handing every recipient the same payload. Network
+ * writes are left out; the blackhole stands in for the session.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BroadcastBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    public int audience;
+
+    private final Gson gson = ChessJson.gson();
+    private ChessGame game;
+
+    @Setup
+    public void setUp() {
+        game = Positions.load(Positions.MIDDLEGAME);
+    }
+
+    @Benchmark
+    public void serializePerRecipient(Blackhole blackhole) {
+        for (int i = 0; i < audience; i++) {
+            blackhole.consume(gson.toJson(new LoadGameMessage(game)));
+        }
+    }
+
+    @Benchmark
+    public void serializeOnce(Blackhole blackhole) {
+        String payload = gson.toJson(new LoadGameMessage(game));
+        for (int i = 0; i < audience; i++) {
+            blackhole.consume(payload);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import chess.ChessGame;
+import dataaccess.DataAccessException;
+import dataaccess.DatabaseManager;
+import dataaccess.DatabaseServiceException;
+import dataaccess.SQLAuthDAO;
+import dataaccess.SQLGameDAO;
+import model.AuthData;
+import model.GameData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hottest SQL DAO calls against a real MySQL server, with and without the
+ * per-connection prepared statement cache.
+ * <p>
+ * Needs {@code db.properties} on the classpath (e.g. the server's resources
+ * directory). Runs in the {@code db.name} system property's database,
+ * {@code chess_benchmark} by default, whose tables are cleared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+    private static final String AUTH_TOKEN = "benchmark-token";
+    private static final int GAME_ID = 1;
+
+    @Param({"0", "64"})
+    public int statementCacheSize;
+
+    private SQLAuthDAO authDAO;
+    private SQLGameDAO gameDAO;
+    private GameData gameData;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DataAccessException, DatabaseServiceException {
+        // read when DatabaseManager is first loaded, which happens below in this fork
+        System.setProperty("db.statementCache.size", Integer.toString(statementCacheSize));
+        if (System.getProperty("db.name") == null) {
+            System.setProperty("db.name", "chess_benchmark");
+        }
+        DatabaseManager.createDatabase();
+
+        authDAO = new SQLAuthDAO();
+        gameDAO = new SQLGameDAO();
+        authDAO.clearAuth();
+        gameDAO.clearGame();
+
+        authDAO.createAuthToken(new AuthData(AUTH_TOKEN, "benchmark-user"));
+        gameData = new GameData(GAME_ID, "benchmark-user", null, "Benchmark", new ChessGame());
+        gameDAO.createGame(gameData);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws DataAccessException, DatabaseServiceException {
+        authDAO.clearAuth();
+        gameDAO.clearGame();
+        DatabaseManager.closePool();
+    }
+
+    @Benchmark
+    public AuthData getAuthToken() throws DataAccessException, DatabaseServiceException {
+        return authDAO.getAuthToken(AUTH_TOKEN);
+    }
+
+    @Benchmark
+    public GameData getGame() throws DataAccessException, DatabaseServiceException {
+        return gameDAO.getGame(GAME_ID);
+    }
+
+    @Benchmark
+    public void updateGame() throws DataAccessException, DatabaseServiceException {
+        gameDAO.updateGame(gameData);
+    }
+}
@@ -0,0 +1,132 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.MoveList;
+import chess.PackedMove;
+import chess.bitboards.Bitboards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule checks on whole positions: legal move lists, check and checkmate
+ * detection, and playing a move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameBenchmark {
+
+    @Param({Positions.START, Positions.KIWIPETE, Positions.ENDGAME, Positions.MIDDLEGAME,
+            Positions.PROMOTIONS, Positions.CHECKMATE})
+    public String position;
+
+    private ChessGame game;
+    private ChessGame.TeamColor sideToMove;
+    private ChessPosition[] ownPieces;
+    private ChessMove[] legalMoves;
+    private int[] packedMoves;
+    private int next;
+    private final MoveList moveList = new MoveList();
+
+    @Setup
+    public void setUp() {
+        game = Positions.load(position);
+        sideToMove = game.getTeamTurn();
+
+        List<ChessPosition> found = new ArrayList<>();
+        for (int square = 0; square < Bitboards.SQUARE_COUNT; square++) {
+            ChessPiece piece = game.getBoard().getPiece(square);
+            if (piece != null && piece.getTeamColor() == sideToMove) {
+                found.add(ChessPosition.ofSquare(square));
+            }
+        }
+        ownPieces = found.toArray(new ChessPosition[0]);
+
+        MoveList moves = new MoveList();
+        game.addLegalMoves(moves);
+        packedMoves = new int[moves.size()];
+        legalMoves = new ChessMove[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            packedMoves[i] = moves.get(i);
+            legalMoves[i] = PackedMove.toChessMove(moves.get(i));
+        }
+    }
+
+    /**
+     * Legal moves of every piece of the side to move, one {@code validMoves} call per piece
+     */
+    @Benchmark
+    public int validMoves() {
+        int count = 0;
+        for (ChessPosition start : ownPieces) {
+            count += game.validMoves(start).size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int addLegalMoves() {
+        moveList.clear();
+        game.addLegalMoves(moveList);
+        return moveList.size();
+    }
+
+    @Benchmark
+    public boolean isInCheck() {
+        return game.isInCheck(sideToMove);
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return game.isInCheckmate(sideToMove);
+    }
+
+    /**
+     * Validates and plays the next legal move in turn, then takes it back
+     * so every invocation starts from the same position
+     */
+    @Benchmark
+    public int makeMove() throws InvalidMoveException {
+        if (legalMoves.length == 0) {
+            return 0;
+        }
+        game.makeMove(legalMoves[nextMove()]);
+        game.unmakeMove();
+        return game.getUndoDepth();
+    }
+
+    @Benchmark
+    public int makeMoveUnchecked() {
+        if (packedMoves.length == 0) {
+            return 0;
+        }
+        game.makeMoveUnchecked(packedMoves[nextMove()]);
+        game.unmakeMove();
+        return game.getUndoDepth();
+    }
+
+    private int nextMove() {
+        next = next + 1 == legalMoves.length ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.ChessGameCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The binary game encoding used for storage, for comparison with {@link GsonBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameCodecBenchmark {
+
+    @Param({Positions.START, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private ChessGame game;
+    private byte[] encoded;
+    private final byte[] buffer = new byte[ChessGameCodec.VERSION_1_LENGTH];
+
+    @Setup
+    public void setUp() {
+        game = Positions.load(position);
+        encoded = ChessGameCodec.encode(game);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        ChessGameCodec.encode(game, buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public ChessGame decode() {
+        return ChessGameCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public String toFen() {
+        return game.toFen();
+    }
+}
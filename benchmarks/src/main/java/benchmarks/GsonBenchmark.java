@@ -0,0 +1,77 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.ChessJson;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson serialization of a {@link ChessGame}, the way the server sends games
+ * to clients: through the {@link ChessJson} adapters, against plain
+ * reflection with its nested board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GsonBenchmark {
+
+    @Param({Positions.START, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private final Gson gson = ChessJson.gson();
+    private final Gson reflective = new Gson();
+    private ChessGame game;
+    private String json;
+    private String reflectiveJson;
+
+    @Setup
+    public void setUp() {
+        game = Positions.load(position);
+        json = gson.toJson(game);
+        reflectiveJson = reflective.toJson(game);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return gson.toJson(game);
+    }
+
+    @Benchmark
+    public ChessGame fromJson() {
+        return gson.fromJson(json, ChessGame.class);
+    }
+
+    @Benchmark
+    public String toJsonReflective() {
+        return reflective.toJson(game);
+    }
+
+    @Benchmark
+    public ChessGame fromJsonReflective() {
+        return reflective.fromJson(reflectiveJson, ChessGame.class);
+    }
+
+    /**
+     * Deserializes and then asks the game for its position key, which also
+     * pays for rebuilding the board's bitboards
+     */
+    @Benchmark
+    public long roundTrip() {
+        return gson.fromJson(gson.toJson(game), ChessGame.class).positionKey();
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.MoveList;
+import chess.bitboards.Bitboards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pseudo-legal move generation through {@link ChessPiece#pieceMoves}, one piece
+ * type at a time. Each invocation generates moves for every piece of that type
+ * belonging to both sides.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PieceMovesBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public ChessPiece.PieceType pieceType;
+
+    @Param({Positions.START, Positions.KIWIPETE, Positions.MIDDLEGAME})
+    public String position;
+
+    private ChessBoard board;
+    private ChessPosition[] positions;
+    private ChessPiece[] pieces;
+    private int[] squares;
+    private final MoveList moveList = new MoveList();
+
+    @Setup
+    public void setUp() {
+        board = Positions.load(position).getBoard();
+
+        List<ChessPosition> found = new ArrayList<>();
+        for (int square = 0; square < Bitboards.SQUARE_COUNT; square++) {
+            ChessPiece piece = board.getPiece(square);
+            if (piece != null && piece.getPieceType() == pieceType) {
+                found.add(ChessPosition.ofSquare(square));
+            }
+        }
+        positions = found.toArray(new ChessPosition[0]);
+        pieces = new ChessPiece[positions.length];
+        squares = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            pieces[i] = board.getPiece(positions[i]);
+            squares[i] = Bitboards.squareOf(positions[i]);
+        }
+    }
+
+    @Benchmark
+    public int pieceMoves() {
+        int count = 0;
+        for (int i = 0; i < positions.length; i++) {
+            Collection<ChessMove> moves = pieces[i].pieceMoves(board, positions[i]);
+            count += moves.size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int pieceMovesIntoMoveList() {
+        moveList.clear();
+        for (int i = 0; i < squares.length; i++) {
+            pieces[i].pieceMoves(board, squares[i], moveList);
+        }
+        return moveList.size();
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.Fen;
+
+import java.util.Map;
+
+/**
+ * Corpus of standard test positions shared by the benchmarks, as FEN records.
+ * Castling and en passant fields are left empty because the engine does not
+ * play those moves.
+ */
+public final class Positions {
+    public static final String START = "start";
+    public static final String KIWIPETE = "kiwipete";
+    public static final String ENDGAME = "endgame";
+    public static final String MIDDLEGAME = "middlegame";
+    public static final String PROMOTIONS = "promotions";
+    public static final String CHECKMATE = "checkmate";
+
+    private static final Map<String, String> CORPUS = Map.of(
+            START, Fen.START_POSITION,
+            KIWIPETE, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w - -",
+            ENDGAME, "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+            MIDDLEGAME, "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - -",
+            PROMOTIONS, "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - -",
+            CHECKMATE, "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w - -"
+    );
+
+    private Positions() {
+    }
+
+    /**
+     * @return the FEN record of the named position
+     */
+    public static String fen(String name) {
+        String record = CORPUS.get(name);
+        if (record == null) {
+            throw new IllegalArgumentException("Unknown position: " + name);
+        }
+        return record;
+    }
+
+    /**
+     * @return a fresh game set up at the named position
+     */
+    public static ChessGame load(String name) {
+        return ChessGame.fromFen(fen(name));
+    }
+}
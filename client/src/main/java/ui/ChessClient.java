@@ -22,7 +22,7 @@ public class ChessClient {
 
     public ChessClient(String httpServerUrl, String wsServerUrl) {
         this.server = new ServerFacade(httpServerUrl);
-        this.webSocketClient = new WebSocketClientHandler(wsServerUrl);
+        this.webSocketClient = new WebSocketClientHandler(wsServerUrl, true);
         this.httpServerUrl = httpServerUrl;
         this.wsServerUrl = wsServerUrl;
         this.scanner = new Scanner(System.in);
@@ -14,6 +14,9 @@ public class GameplayUIREPL {
     private final Integer gameID;
     private final String playerColor;
     private ChessGame currentGame;
+    // number of the last move applied to currentGame
+    private long moveSequence;
+    private boolean awaitingSync;
 
     public GameplayUIREPL(String serverUrl, String authToken, Integer gameID, String playerColor, WebSocketClientHandler webSocketClient) {
         this.webSocketClient = webSocketClient;
@@ -42,7 +45,7 @@ public class GameplayUIREPL {
     }
 
     private void sendConnectMessage() {
-        UserGameCommand connectCommand = new UserGameCommand(UserGameCommand.CommandType.CONNECT, authToken, gameID);
+        UserGameCommand connectCommand = new UserGameCommand(UserGameCommand.CommandType.CONNECT, authToken, gameID, true);
         webSocketClient.sendMessage(connectCommand);
         System.out.println("Connected to the game. Type 'help' for available commands.");
     }
@@ -115,8 +118,13 @@ public class GameplayUIREPL {
             case LOAD_GAME:
                 LoadGameMessage loadGame = (LoadGameMessage) message;
                 currentGame = loadGame.getGame();
+                moveSequence = loadGame.getSequence();
+                awaitingSync = false;
                 redrawBoard();
                 break;
+            case MOVE:
+                applyMove((MoveMessage) message);
+                break;
             case ERROR:
                 ErrorMessage error = (ErrorMessage) message;
                 System.err.println("Error: " + error.getErrorMessage());
@@ -130,6 +138,38 @@ public class GameplayUIREPL {
         }
     }
 
+    /*
+     * Plays the move on the local copy of the game. A skipped move number or a
+     * position that does not match the server's means the local copy is out
+     * of date, so the whole game is requested instead.
+     */
+    private void applyMove(MoveMessage message) {
+        if (awaitingSync || message.getSequence() <= moveSequence) {
+            return;
+        }
+        if (currentGame == null || message.getSequence() != moveSequence + 1) {
+            requestSync();
+            return;
+        }
+        try {
+            currentGame.makeMove(message.getMove());
+        } catch (InvalidMoveException e) {
+            requestSync();
+            return;
+        }
+        if (currentGame.positionKey() != message.getPositionKey()) {
+            requestSync();
+            return;
+        }
+        moveSequence = message.getSequence();
+        redrawBoard();
+    }
+
+    private void requestSync() {
+        awaitingSync = true;
+        webSocketClient.sendMessage(new UserGameCommand(UserGameCommand.CommandType.SYNC, authToken, gameID));
+    }
+
     private void displayHelp() {
         System.out.println("Available commands:");
         System.out.println("  move <from> <to> - make a move (e.g., 'move e2 e4')");
@@ -290,7 +330,7 @@ public class GameplayUIREPL {
             throw new IllegalArgumentException("Position out of bounds");
         }
 
-        return new ChessPosition(row, col);
+        return ChessPosition.of(row, col);
     }
 
     private void handleHighlight(String[] inputTokens) {
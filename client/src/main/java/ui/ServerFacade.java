@@ -1,5 +1,6 @@
 package ui;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import java.io.IOException;
 import java.io.InputStream;
@@ -12,7 +13,7 @@ import java.util.Map;
 
 public class ServerFacade {
     private final String serverUrl;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
 
     public ServerFacade(String url) {
         serverUrl = url;
@@ -26,7 +26,7 @@ public class UIUtils {
             System.out.print(" " + row + " ");
 
             for (int col : cols) {
-                ChessPosition pos = new ChessPosition(row, col);
+                ChessPosition pos = ChessPosition.of(row, col);
                 ChessPiece piece = board.getPiece(pos);
 
                 boolean isHighlighted = isHighlightedPosition(pos, highlightMoves);
@@ -1,23 +1,39 @@
 package websocket;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import websocket.commands.UserGameCommand;
 import websocket.messages.ServerMessage;
 import websocket.messages.ErrorMessage;
 import websocket.messages.LoadGameMessage;
+import websocket.messages.MoveMessage;
 import websocket.messages.NotificationMessage;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.concurrent.LinkedBlockingQueue;
 import javax.websocket.*;
 
 @ClientEndpoint
 public class WebSocketClientHandler {
     private Session session;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
     private final LinkedBlockingQueue<ServerMessage> messageQueue = new LinkedBlockingQueue<>();
+    private final boolean binary;
 
     public WebSocketClientHandler(String serverUrl) {
+        this(serverUrl, false);
+    }
+
+    /**
+     * @param binary whether to talk to the server with {@link BinaryProtocol}
+     *               frames instead of JSON; the server answers in kind
+     */
+    public WebSocketClientHandler(String serverUrl, boolean binary) {
+        this.binary = binary;
     }
 
     @OnOpen
@@ -38,20 +54,31 @@ public class WebSocketClientHandler {
         }
     }
 
-
+    @OnMessage
+    public void onMessage(ByteBuffer message) {
+        try {
+            messageQueue.offer(BinaryProtocol.decodeMessage(message));
+        } catch (Exception e) {
+            System.err.println("Error processing server message: " + e.getMessage());
+        }
+    }
 
     private ServerMessage parseServerMessage(String message) {
         try {
-            com.google.gson.JsonObject jsonObject = gson.fromJson(message, com.google.gson.JsonObject.class);
-            String messageType = jsonObject.get("serverMessageType").getAsString();
+            // parsed once; the tree is bound to the concrete message class
+            JsonObject jsonObject = JsonParser.parseString(message).getAsJsonObject();
+            JsonElement type = jsonObject.get("serverMessageType");
+            String messageType = type == null ? null : type.getAsString();
 
-            switch (messageType) {
+            switch (messageType == null ? "" : messageType) {
                 case "LOAD_GAME":
-                    return gson.fromJson(message, LoadGameMessage.class);
+                    return gson.fromJson(jsonObject, LoadGameMessage.class);
                 case "ERROR":
-                    return gson.fromJson(message, ErrorMessage.class);
+                    return gson.fromJson(jsonObject, ErrorMessage.class);
                 case "NOTIFICATION":
-                    return gson.fromJson(message, NotificationMessage.class);
+                    return gson.fromJson(jsonObject, NotificationMessage.class);
+                case "MOVE":
+                    return gson.fromJson(jsonObject, MoveMessage.class);
                 default:
                     System.err.println("Unknown message type: " + messageType);
                     return null;
@@ -65,8 +92,11 @@ public class WebSocketClientHandler {
     public void sendMessage(UserGameCommand command) {
         if (session != null && session.isOpen()) {
             try {
-                String jsonMessage = gson.toJson(command);
-                session.getBasicRemote().sendText(jsonMessage);
+                if (binary) {
+                    session.getBasicRemote().sendBinary(ByteBuffer.wrap(BinaryProtocol.encodeCommand(command)));
+                } else {
+                    session.getBasicRemote().sendText(gson.toJson(command));
+                }
             } catch (Exception e) {
                 System.err.println("Error sending message: " + e.getMessage());
             }
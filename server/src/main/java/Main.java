@@ -1,4 +1,5 @@
 import chess.*;
+import chess.bitboards.MagicAttacks;
 import server.Server;
 
 public class Main {
@@ -6,6 +7,9 @@ public class Main {
         var piece = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
         System.out.println("♕ 240 Chess Server: " + piece);
 
+        // build the attack tables before the first move is checked
+        MagicAttacks.initialize();
+
         Server server = new Server();
         server.run(8080);
     }
@@ -0,0 +1,159 @@
+package dataaccess;
+
+import model.AuthData;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers auth token lookups in front of another {@link AuthDAO}.
+ * <p>
+ * Both outcomes are cached: a token that exists (for the positive timeout)
+ * and a token that does not (for the usually shorter negative timeout), so
+ * repeated requests with a bad token do not reach the database either.
+ * Creating, deleting and clearing tokens go to the underlying DAO and update
+ * the cache immediately. A lookup that races with a create, delete or clear
+ * never puts the stale result back into the cache.
+ */
+public class CachingAuthDAO implements AuthDAO {
+    private final AuthDAO delegate;
+    private final int capacity;
+    private final long positiveTimeoutNanos;
+    private final long negativeTimeoutNanos;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // bumped by every create, delete and clear; a lookup only caches its result if none happened meanwhile
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param authData the token's data, or null if the token does not exist
+     */
+    private record Entry(AuthData authData, long expiresAt) {
+    }
+
+    /**
+     * @param delegate        DAO that stores the tokens
+     * @param capacity        most lookups to remember
+     * @param positiveTimeout how long a found token is remembered
+     * @param negativeTimeout how long a missing token is remembered
+     */
+    public CachingAuthDAO(AuthDAO delegate, int capacity, Duration positiveTimeout, Duration negativeTimeout) {
+        this(delegate, capacity, positiveTimeout, negativeTimeout, System::nanoTime);
+    }
+
+    CachingAuthDAO(AuthDAO delegate, int capacity, Duration positiveTimeout, Duration negativeTimeout,
+                   LongSupplier clock) {
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.positiveTimeoutNanos = positiveTimeout.toNanos();
+        this.negativeTimeoutNanos = negativeTimeout.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public AuthData getAuthToken(String authToken) throws DataAccessException, DatabaseServiceException {
+        if (authToken == null) {
+            return delegate.getAuthToken(null);
+        }
+
+        Entry entry = entries.get(authToken);
+        if (entry != null && clock.getAsLong() - entry.expiresAt < 0) {
+            hits.increment();
+            return entry.authData;
+        }
+        misses.increment();
+
+        long generation = invalidations.get();
+        AuthData authData = delegate.getAuthToken(authToken);
+        long timeout = authData == null ? negativeTimeoutNanos : positiveTimeoutNanos;
+        Entry loaded = new Entry(authData, clock.getAsLong() + timeout);
+
+        entries.put(authToken, loaded);
+        if (invalidations.get() != generation) {
+            // a create, delete or clear ran during the lookup; the result may already be stale
+            entries.remove(authToken, loaded);
+        }
+        trimToCapacity();
+        return authData;
+    }
+
+    @Override
+    public void createAuthToken(AuthData authData) throws DataAccessException, DatabaseServiceException {
+        try {
+            delegate.createAuthToken(authData);
+        } finally {
+            // a lookup that read before the insert must not cache its negative result over ours
+            invalidations.incrementAndGet();
+            entries.remove(authData.authToken());
+        }
+        entries.put(authData.authToken(), new Entry(authData, clock.getAsLong() + positiveTimeoutNanos));
+        trimToCapacity();
+    }
+
+    @Override
+    public void deleteAuthToken(String authToken) throws DataAccessException, DatabaseServiceException {
+        try {
+            delegate.deleteAuthToken(authToken);
+        } finally {
+            // after the delete, so a lookup that read the old row is caught by the generation check
+            invalidations.incrementAndGet();
+            entries.remove(authToken);
+        }
+    }
+
+    @Override
+    public void clearAuth() throws DataAccessException, DatabaseServiceException {
+        try {
+            delegate.clearAuth();
+        } finally {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return lookups answered from the cache
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return lookups that went to the underlying DAO
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return how many lookups are remembered
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /*
+     * Expired entries go first; if that is not enough, arbitrary entries are
+     * dropped, which only costs their next lookup a trip to the database.
+     */
+    private void trimToCapacity() {
+        if (entries.size() <= capacity) {
+            return;
+        }
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > capacity && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package dataaccess;
+
+import chess.ChessGame;
+import model.GameData;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps recently used games in memory in front of another {@link GameDAO}.
+ * <p>
+ * Reads of a resident game never reach the underlying DAO. Updates to a
+ * resident game only change the cached copy and mark it dirty; a background
+ * task writes all dirty games to the underlying DAO in one batch every flush
+ * interval, so several moves in a row cost a single write and at most one
+ * flush interval of updates can be lost if the process dies. Creating a game,
+ * updating a game that is not resident and clearing are written through
+ * immediately so that their errors reach the caller.
+ * <p>
+ * Seat claims are written through: the underlying DAO takes the seat with its
+ * own conditional update, so a join that succeeded is stored at once. A seat
+ * already taken by a resident update that is not written yet is refused
+ * without asking the underlying DAO; any other unwritten update of the game,
+ * such as a player leaving, is written first so the claim sees it. Game state
+ * updates and seat releases are written behind like updates, but only change
+ * their own part of the resident copy, so they never undo a claim made after
+ * the caller read the game.
+ * <p>
+ * Games that have not been used for the idle timeout, and the least recently
+ * used games beyond the capacity, are dropped once they have been flushed and
+ * the write has finished.
+ * Callers always get their own copy of a game, as they would from a database.
+ */
+public class CachingGameDAO implements GameDAO, AutoCloseable {
+    private final GameDAO delegate;
+    private final int capacity;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService flusher;
+
+    // access order makes iteration start at the least recently used game
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Integer, GameData> dirty = new LinkedHashMap<>();
+    // taken out of dirty but not stored yet; reloading them would read the old row
+    private final Set<Integer> writing = new HashSet<>();
+    private final Object flushLock = new Object();
+
+    private static final class Entry {
+        private GameData gameData;
+        private long lastAccess;
+
+        private Entry(GameData gameData, long lastAccess) {
+            this.gameData = gameData;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * @param delegate      DAO that stores the games
+     * @param capacity      most games to keep resident
+     * @param idleTimeout   how long an unused game stays resident
+     * @param flushInterval longest time an update stays unwritten
+     */
+    public CachingGameDAO(GameDAO delegate, int capacity, Duration idleTimeout, Duration flushInterval) {
+        this(delegate, capacity, idleTimeout, System::nanoTime);
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Without a flush interval nothing is written until flush() is called,
+     * which lets tests control timing.
+     */
+    CachingGameDAO(GameDAO delegate, int capacity, Duration idleTimeout, LongSupplier clock) {
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.clock = clock;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<GameData> getAllGames() throws DataAccessException, DatabaseServiceException {
+        List<GameData> stored = delegate.getAllGames();
+        List<GameData> games = new ArrayList<>(stored.size());
+        synchronized (this) {
+            // resident games may have updates that are not written yet
+            for (GameData gameData : stored) {
+                Entry entry = entries.get(gameData.gameID());
+                games.add(entry == null ? gameData : entry.gameData.copy());
+            }
+        }
+        return games;
+    }
+
+    @Override
+    public GameData getGame(int gameId) throws DataAccessException, DatabaseServiceException {
+        synchronized (this) {
+            Entry entry = entries.get(gameId);
+            if (entry != null) {
+                entry.lastAccess = clock.getAsLong();
+                return entry.gameData.copy();
+            }
+        }
+
+        GameData loaded = delegate.getGame(gameId);
+        synchronized (this) {
+            // another thread may have loaded or updated the game in the meantime
+            Entry entry = entries.get(gameId);
+            if (entry == null) {
+                entries.put(gameId, new Entry(loaded.copy(), clock.getAsLong()));
+                evictOverCapacity();
+                return loaded;
+            }
+            return entry.gameData.copy();
+        }
+    }
+
+    @Override
+    public void createGame(GameData gameData) throws DataAccessException, DatabaseServiceException {
+        delegate.createGame(gameData);
+        synchronized (this) {
+            entries.put(gameData.gameID(), new Entry(gameData.copy(), clock.getAsLong()));
+            evictOverCapacity();
+        }
+    }
+
+    @Override
+    public void updateGame(GameData gameData) throws DataAccessException, DatabaseServiceException {
+        synchronized (this) {
+            Entry entry = entries.get(gameData.gameID());
+            if (entry != null) {
+                entry.gameData = gameData.copy();
+                entry.lastAccess = clock.getAsLong();
+                dirty.put(gameData.gameID(), entry.gameData);
+                return;
+            }
+        }
+
+        delegate.updateGame(gameData);
+        synchronized (this) {
+            entries.put(gameData.gameID(), new Entry(gameData.copy(), clock.getAsLong()));
+            evictOverCapacity();
+        }
+    }
+
+    @Override
+    public void updateGameState(int gameId, ChessGame game) throws DataAccessException, DatabaseServiceException {
+        synchronized (this) {
+            Entry entry = entries.get(gameId);
+            if (entry != null) {
+                GameData current = entry.gameData;
+                entry.gameData = new GameData(gameId, current.whiteUsername(), current.blackUsername(),
+                        current.gameName(), new ChessGame(game));
+                entry.lastAccess = clock.getAsLong();
+                dirty.put(gameId, entry.gameData);
+                return;
+            }
+        }
+
+        delegate.updateGameState(gameId, game);
+    }
+
+    /*
+     * Runs under the flush lock, so a flush cannot write an older copy of the
+     * game, without the seat, after the underlying DAO has taken it.
+     */
+    @Override
+    public boolean claimSeat(int gameId, ChessGame.TeamColor color, String username)
+            throws DataAccessException, DatabaseServiceException {
+        synchronized (flushLock) {
+            GameData pending;
+            synchronized (this) {
+                Entry entry = entries.get(gameId);
+                if (entry != null && seatOf(entry.gameData, color) != null) {
+                    return false;
+                }
+                pending = dirty.remove(gameId);
+                if (pending != null) {
+                    writing.add(gameId);
+                }
+            }
+            if (pending != null) {
+                try {
+                    delegate.updateGame(pending);
+                } catch (DataAccessException | DatabaseServiceException | RuntimeException e) {
+                    synchronized (this) {
+                        dirty.putIfAbsent(gameId, pending);
+                    }
+                    throw e;
+                } finally {
+                    synchronized (this) {
+                        writing.remove(gameId);
+                    }
+                }
+            }
+
+            if (!delegate.claimSeat(gameId, color, username)) {
+                return false;
+            }
+
+            synchronized (this) {
+                Entry entry = entries.get(gameId);
+                if (entry != null) {
+                    entry.gameData = withSeat(entry.gameData, color, username);
+                    entry.lastAccess = clock.getAsLong();
+                    // an update still waiting to be written must not put the seat back
+                    dirty.computeIfPresent(gameId, (id, newer) -> withSeat(newer, color, username));
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public boolean releaseSeat(int gameId, ChessGame.TeamColor color, String username)
+            throws DataAccessException, DatabaseServiceException {
+        synchronized (this) {
+            Entry entry = entries.get(gameId);
+            if (entry != null) {
+                if (!username.equals(seatOf(entry.gameData, color))) {
+                    return false;
+                }
+                entry.gameData = withSeat(entry.gameData, color, null);
+                entry.lastAccess = clock.getAsLong();
+                dirty.put(gameId, entry.gameData);
+                return true;
+            }
+        }
+
+        return delegate.releaseSeat(gameId, color, username);
+    }
+
+    @Override
+    public void clearGame() throws DataAccessException, DatabaseServiceException {
+        synchronized (flushLock) {
+            synchronized (this) {
+                entries.clear();
+                dirty.clear();
+            }
+            delegate.clearGame();
+        }
+    }
+
+    /**
+     * Writes every dirty game to the underlying DAO, then drops idle games.
+     * Games that fail to write stay dirty and are retried on the next flush.
+     */
+    public void flush() throws DataAccessException, DatabaseServiceException {
+        synchronized (flushLock) {
+            List<GameData> batch;
+            synchronized (this) {
+                batch = new ArrayList<>(dirty.values());
+                writing.addAll(dirty.keySet());
+                dirty.clear();
+            }
+
+            if (!batch.isEmpty()) {
+                try {
+                    delegate.updateGames(batch);
+                } catch (DataAccessException | DatabaseServiceException | RuntimeException e) {
+                    synchronized (this) {
+                        for (GameData gameData : batch) {
+                            // keep newer updates made while the batch was being written
+                            dirty.putIfAbsent(gameData.gameID(), gameData);
+                        }
+                    }
+                    throw e;
+                } finally {
+                    synchronized (this) {
+                        writing.clear();
+                    }
+                }
+            }
+            evictIdle();
+        }
+    }
+
+    /**
+     * @return how many games are resident
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return how many resident games have updates that are not written yet
+     */
+    public synchronized int dirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Stops the background flush and writes any remaining updates
+     */
+    @Override
+    public void close() throws DataAccessException, DatabaseServiceException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("Error writing cached games: " + e.getMessage());
+        }
+    }
+
+    private synchronized void evictIdle() {
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<Integer, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Entry> next = iterator.next();
+            if (now - next.getValue().lastAccess >= idleTimeoutNanos && isWritten(next.getKey())) {
+                iterator.remove();
+            }
+        }
+        evictOverCapacity();
+    }
+
+    private static String seatOf(GameData gameData, ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? gameData.whiteUsername() : gameData.blackUsername();
+    }
+
+    private static GameData withSeat(GameData gameData, ChessGame.TeamColor color, String username) {
+        return color == ChessGame.TeamColor.WHITE
+                ? new GameData(gameData.gameID(), username, gameData.blackUsername(), gameData.gameName(), gameData.game())
+                : new GameData(gameData.gameID(), gameData.whiteUsername(), username, gameData.gameName(), gameData.game());
+    }
+
+    private boolean isWritten(int gameId) {
+        return !dirty.containsKey(gameId) && !writing.contains(gameId);
+    }
+
+    /*
+     * Games that are dirty or being written are skipped; they are dropped by
+     * a later sweep once stored.
+     */
+    private void evictOverCapacity() {
+        Iterator<Integer> iterator = entries.keySet().iterator();
+        while (entries.size() > capacity && iterator.hasNext()) {
+            if (isWritten(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package dataaccess;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of JDBC connections.
+ * <p>
+ * {@link #getConnection()} hands out a connection whose {@code close()} puts
+ * the underlying connection back in the pool, so DAOs keep using
+ * try-with-resources exactly as with unpooled connections. At most
+ * {@code maxSize} connections are in use at once; callers wait up to the
+ * acquisition timeout for one to come back. Connections older than the
+ * maximum lifetime are replaced, and connections that sat idle for longer
+ * than the validation interval are checked with {@link Connection#isValid}
+ * before being handed out again.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Opens new physical connections for the pool
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * Point-in-time pool statistics
+     *
+     * @param active          connections currently handed out
+     * @param idle            connections waiting in the pool
+     * @param created         physical connections opened so far
+     * @param discarded       physical connections closed for age, failed validation or errors
+     * @param acquisitions    successful {@link #getConnection()} calls
+     * @param timeouts        {@link #getConnection()} calls that gave up waiting
+     * @param totalWaitNanos  time spent waiting for a free connection, summed over all calls
+     * @param maxWaitNanos    longest single wait for a free connection
+     */
+    public record Metrics(int active, int idle, long created, long discarded, long acquisitions, long timeouts,
+                          long totalWaitNanos, long maxWaitNanos) {
+    }
+
+    private static final class PooledConnection {
+        private final Connection connection;
+        private final long createdAt;
+        private long lastUsed;
+
+        private PooledConnection(Connection connection, long createdAt) {
+            this.connection = connection;
+            this.createdAt = createdAt;
+            this.lastUsed = createdAt;
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final long maxLifetimeNanos;
+    private final long validationIntervalNanos;
+    private final long acquisitionTimeoutNanos;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, Duration maxLifetime,
+                          Duration validationInterval, Duration acquisitionTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1.");
+        }
+        this.factory = factory;
+        this.maxLifetimeNanos = maxLifetime.toNanos();
+        this.validationIntervalNanos = validationInterval.toNanos();
+        this.acquisitionTimeoutNanos = acquisitionTimeout.toNanos();
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection; closing it returns it to the pool
+     *
+     * @throws SQLException if no connection became free within the acquisition
+     *                      timeout, or a new connection could not be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed", "08003");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquisitionTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Timed out waiting for a database connection", "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", "08001", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled = takeUsable();
+            active.incrementAndGet();
+            acquisitions.incrementAndGet();
+            return handleFor(pooled);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public Metrics metrics() {
+        return new Metrics(active.get(), idle.size(), created.get(), discarded.get(), acquisitions.get(),
+                timeouts.get(), totalWaitNanos.get(), maxWaitNanos.get());
+    }
+
+    /**
+     * Closes every idle connection. Connections still in use are closed when
+     * they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private PooledConnection takeUsable() throws SQLException {
+        PooledConnection pooled;
+        // most recently used first: it is the least likely to have gone stale
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.nanoTime();
+            if (now - pooled.createdAt >= maxLifetimeNanos) {
+                discard(pooled);
+            } else if (now - pooled.lastUsed >= validationIntervalNanos && !isValid(pooled)) {
+                discard(pooled);
+            } else {
+                return pooled;
+            }
+        }
+
+        Connection connection = factory.create();
+        created.incrementAndGet();
+        return new PooledConnection(connection, System.nanoTime());
+    }
+
+    private void release(PooledConnection pooled, boolean broken) {
+        active.decrementAndGet();
+        try {
+            if (broken || closed || pooled.connection.isClosed()
+                    || System.nanoTime() - pooled.createdAt >= maxLifetimeNanos) {
+                discard(pooled);
+            } else {
+                if (!pooled.connection.getAutoCommit()) {
+                    pooled.connection.rollback();
+                    pooled.connection.setAutoCommit(true);
+                }
+                pooled.lastUsed = System.nanoTime();
+                idle.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        discarded.incrementAndGet();
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private Connection handleFor(PooledConnection pooled) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Handle(pooled));
+    }
+
+    /*
+     * Stands in for the physical connection while it is borrowed. close()
+     * returns it to the pool once; afterwards the handle behaves as closed.
+     * A connection-level SQL error marks it broken so it is not reused.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+        private boolean broken;
+
+        private Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + pooled.connection;
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has been returned to the pool", "08003");
+            }
+            try {
+                return method.invoke(pooled.connection, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sqlException && SQLDAOUtils.isConnectionIssue(sqlException)) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package dataaccess;
 
 import java.sql.*;
+import java.time.Duration;
 import java.util.Properties;
 
 public class DatabaseManager {
@@ -8,6 +9,12 @@ public class DatabaseManager {
     private static String dbUsername;
     private static String dbPassword;
     private static String connectionUrl;
+    private static int poolSize;
+    private static Duration poolMaxLifetime;
+    private static Duration poolValidationInterval;
+    private static Duration poolAcquisitionTimeout;
+    private static int statementCacheSize;
+    private static ConnectionPool pool;
 
     /*
      * Load the database information for the db.properties file.
@@ -30,9 +37,10 @@ public class DatabaseManager {
     }
 
     /**
-     * Create a connection to the database and sets the catalog based upon the
+     * Borrows a connection from the pool, with the catalog set based upon the
      * properties specified in db.properties. Connections to the database should
-     * be short-lived, and you must close the connection when you are done with it.
+     * be short-lived, and you must close the connection when you are done with it,
+     * which returns it to the pool.
      * The easiest way to do that is with a try-with-resource block.
      * <br/>
      * <code>
@@ -43,15 +51,69 @@ public class DatabaseManager {
      */
     static Connection getConnection() throws DataAccessException {
         try {
-            //do not wrap the following line with a try-with-resources
-            var conn = DriverManager.getConnection(connectionUrl, dbUsername, dbPassword);
-            conn.setCatalog(databaseName);
-            return conn;
+            return pool().getConnection();
         } catch (SQLException ex) {
             throw new DataAccessException("failed to get connection", ex);
         }
     }
 
+    /**
+     * @return current connection pool statistics
+     */
+    public static ConnectionPool.Metrics poolMetrics() {
+        return pool().metrics();
+    }
+
+    /**
+     * Closes the pooled connections. A later {@link #getConnection()} starts a new pool.
+     */
+    public static synchronized void closePool() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /*
+     * Created on first use rather than at class load, because createDatabase
+     * has to run before connections can select the catalog.
+     */
+    private static synchronized ConnectionPool pool() {
+        if (pool == null) {
+            pool = new ConnectionPool(DatabaseManager::openConnection, poolSize, poolMaxLifetime,
+                    poolValidationInterval, poolAcquisitionTimeout);
+        }
+        return pool;
+    }
+
+    /*
+     * With a statement cache the driver prepares each statement on the server
+     * once per connection and hands back the same prepared statement for the
+     * same SQL text; closing it only returns it to the connection's cache.
+     * Pooled connections live long, so the DAOs' constant SQL is parsed and
+     * planned once per connection rather than once per call.
+     */
+    private static Connection openConnection() throws SQLException {
+        Properties info = new Properties();
+        info.setProperty("user", dbUsername);
+        info.setProperty("password", dbPassword);
+        if (statementCacheSize > 0) {
+            info.setProperty("useServerPrepStmts", "true");
+            info.setProperty("cachePrepStmts", "true");
+            info.setProperty("prepStmtCacheSize", Integer.toString(statementCacheSize));
+            info.setProperty("prepStmtCacheSqlLimit", "2048");
+        }
+
+        var conn = DriverManager.getConnection(connectionUrl, info);
+        try {
+            conn.setCatalog(databaseName);
+        } catch (SQLException ex) {
+            conn.close();
+            throw ex;
+        }
+        return conn;
+    }
+
     private static void loadPropertiesFromResources() {
         try (var propStream = Thread.currentThread().getContextClassLoader().getResourceAsStream("db.properties")) {
             if (propStream == null) {
@@ -66,12 +128,30 @@ public class DatabaseManager {
     }
 
     private static void loadProperties(Properties props) {
-        databaseName = props.getProperty("db.name");
+        databaseName = setting(props, "db.name", null);
         dbUsername = props.getProperty("db.user");
         dbPassword = props.getProperty("db.password");
 
         var host = props.getProperty("db.host");
         var port = Integer.parseInt(props.getProperty("db.port"));
         connectionUrl = String.format("jdbc:mysql://%s:%d", host, port);
+
+        poolSize = Integer.parseInt(setting(props, "db.pool.size", "10"));
+        poolMaxLifetime = Duration.ofSeconds(Long.parseLong(setting(props, "db.pool.maxLifetimeSeconds", "1800")));
+        poolValidationInterval = Duration.ofSeconds(Long.parseLong(setting(props, "db.pool.validationSeconds", "30")));
+        poolAcquisitionTimeout = Duration.ofMillis(Long.parseLong(setting(props, "db.pool.timeoutMillis", "5000")));
+        statementCacheSize = Integer.parseInt(setting(props, "db.statementCache.size", "64"));
+
+        // pooled connections were opened with the old settings
+        closePool();
+    }
+
+    /*
+     * The database name and tuning settings can be overridden with a system
+     * property of the same name, e.g. -Ddb.statementCache.size=0, without
+     * editing db.properties.
+     */
+    private static String setting(Properties props, String key, String defaultValue) {
+        return System.getProperty(key, props.getProperty(key, defaultValue));
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package dataaccess;
 
+import chess.ChessGame;
 import model.GameData;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GameDAO {
@@ -13,6 +15,43 @@ public interface GameDAO {
 
     void updateGame(GameData gameData) throws DataAccessException, DatabaseServiceException;
 
+    /**
+     * Stores a game's state without touching its seats or name, so a player
+     * who took a seat after the game was read keeps it.
+     *
+     * @throws DataAccessException if the game does not exist
+     */
+    void updateGameState(int gameId, ChessGame game) throws DataAccessException, DatabaseServiceException;
+
+    /**
+     * Updates several games at once. Implementations may write them in a single
+     * batch; the default updates them one at a time.
+     */
+    default void updateGames(Collection<GameData> games) throws DataAccessException, DatabaseServiceException {
+        for (GameData gameData : games) {
+            updateGame(gameData);
+        }
+    }
+    /**
+     * Seats a player as one color, but only if nobody holds that seat yet. The
+     * check and the update happen as one atomic step, so two players racing
+     * for the same seat cannot both get it.
+     *
+     * @return true if the seat was claimed, false if it was already taken
+     * @throws DataAccessException if the game does not exist
+     */
+    boolean claimSeat(int gameId, ChessGame.TeamColor color, String username)
+            throws DataAccessException, DatabaseServiceException;
+
+    /**
+     * Empties a seat, but only if the given player still holds it, in one
+     * atomic step like {@link #claimSeat}.
+     *
+     * @return true if the seat was emptied, false if someone else holds it
+     * @throws DataAccessException if the game does not exist
+     */
+    boolean releaseSeat(int gameId, ChessGame.TeamColor color, String username)
+            throws DataAccessException, DatabaseServiceException;
 
     void clearGame() throws DataAccessException, DatabaseServiceException;
 }
@@ -2,31 +2,28 @@ package dataaccess;
 
 import model.AuthData;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MemoryAuthDAO implements AuthDAO {
-    private final Map<String, AuthData> authTokens = new HashMap<>();
+    private final ConcurrentHashMap<String, AuthData> authTokens = new ConcurrentHashMap<>();
 
     @Override
     public AuthData getAuthToken(String authToken) throws DataAccessException {
-        return authTokens.getOrDefault(authToken, null);
+        return authToken == null ? null : authTokens.get(authToken);
     }
 
     @Override
     public void createAuthToken(AuthData authData) throws DataAccessException {
-        if (authTokens.containsKey(authData.authToken())) {
+        if (authTokens.putIfAbsent(authData.authToken(), authData) != null) {
             throw new DataAccessException("Error: Token already exists.");
         }
-        authTokens.put(authData.authToken(), authData);
     }
 
     @Override
     public void deleteAuthToken(String authToken) throws DataAccessException {
-        if (!authTokens.containsKey(authToken)) {
+        if (authToken == null || authTokens.remove(authToken) == null) {
             throw new DataAccessException("Error: Token not found.");
         }
-        authTokens.remove(authToken);
     }
 
     @Override
@@ -1,18 +1,41 @@
 package dataaccess;
 
+import chess.ChessGame;
 import model.GameData;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Thread-safe in-memory game storage.
+ * <p>
+ * Single-game operations run concurrently on a {@link ConcurrentHashMap}. They
+ * share the read side of a read-write lock, so {@link #getAllGames()} can take
+ * the write side for a moment and copy every game as of one instant instead of
+ * a mix of states from before and after concurrent changes.
+ * <p>
+ * Games are copied on the way in and on the way out, so a caller that plays
+ * moves on a game it read changes nothing stored until it writes the game back.
+ */
 public class MemoryGameDAO implements GameDAO {
-    private final Map<Integer, GameData> gameDataMap = new HashMap<>();
+    private final ConcurrentHashMap<Integer, GameData> gameDataMap = new ConcurrentHashMap<>();
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
 
     @Override
     public List<GameData> getAllGames() throws DataAccessException {
-        return new ArrayList<>(gameDataMap.values());
+        snapshotLock.writeLock().lock();
+        try {
+            List<GameData> games = new ArrayList<>(gameDataMap.size());
+            for (GameData gameData : gameDataMap.values()) {
+                games.add(gameData.copy());
+            }
+            return games;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -21,28 +44,111 @@ public class MemoryGameDAO implements GameDAO {
         if (gameData == null) {
             throw new DataAccessException("Game not found");
         }
-        return gameData;
+        return gameData.copy();
     }
 
     @Override
     public void createGame(GameData gameData) throws DataAccessException {
-        if (gameDataMap.containsKey(gameData.gameID())) {
+        GameData existing;
+        snapshotLock.readLock().lock();
+        try {
+            existing = gameDataMap.putIfAbsent(gameData.gameID(), gameData.copy());
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        if (existing != null) {
             throw new DataAccessException("Game already exists");
         }
-        gameDataMap.put(gameData.gameID(), gameData);
-
     }
 
     @Override
     public void updateGame(GameData gameData) throws DataAccessException {
-        if (!gameDataMap.containsKey(gameData.gameID())) {
+        GameData previous;
+        snapshotLock.readLock().lock();
+        try {
+            previous = gameDataMap.replace(gameData.gameID(), gameData.copy());
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        if (previous == null) {
             throw new DataAccessException("Game not found");
         }
-        gameDataMap.put(gameData.gameID(), gameData);
+    }
+
+    @Override
+    public void updateGameState(int gameId, ChessGame game) throws DataAccessException {
+        ChessGame stored = new ChessGame(game);
+        GameData result;
+        snapshotLock.readLock().lock();
+        try {
+            result = gameDataMap.computeIfPresent(gameId, (id, current) ->
+                    new GameData(gameId, current.whiteUsername(), current.blackUsername(), current.gameName(), stored));
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        if (result == null) {
+            throw new DataAccessException("Game not found");
+        }
+    }
+
+    @Override
+    public boolean claimSeat(int gameId, ChessGame.TeamColor color, String username) throws DataAccessException {
+        boolean[] claimed = {false};
+        GameData result;
+        snapshotLock.readLock().lock();
+        try {
+            // the seat is checked and taken in one atomic step on the stored game
+            result = gameDataMap.computeIfPresent(gameId, (id, current) -> {
+                String seated = color == ChessGame.TeamColor.WHITE ? current.whiteUsername() : current.blackUsername();
+                if (seated != null) {
+                    return current;
+                }
+                claimed[0] = true;
+                return color == ChessGame.TeamColor.WHITE
+                        ? new GameData(gameId, username, current.blackUsername(), current.gameName(), current.game())
+                        : new GameData(gameId, current.whiteUsername(), username, current.gameName(), current.game());
+            });
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        if (result == null) {
+            throw new DataAccessException("Game not found");
+        }
+        return claimed[0];
+    }
+
+    @Override
+    public boolean releaseSeat(int gameId, ChessGame.TeamColor color, String username) throws DataAccessException {
+        boolean[] released = {false};
+        GameData result;
+        snapshotLock.readLock().lock();
+        try {
+            result = gameDataMap.computeIfPresent(gameId, (id, current) -> {
+                String seated = color == ChessGame.TeamColor.WHITE ? current.whiteUsername() : current.blackUsername();
+                if (!username.equals(seated)) {
+                    return current;
+                }
+                released[0] = true;
+                return color == ChessGame.TeamColor.WHITE
+                        ? new GameData(gameId, null, current.blackUsername(), current.gameName(), current.game())
+                        : new GameData(gameId, current.whiteUsername(), null, current.gameName(), current.game());
+            });
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        if (result == null) {
+            throw new DataAccessException("Game not found");
+        }
+        return released[0];
     }
 
     @Override
     public void clearGame() {
-        gameDataMap.clear();
+        snapshotLock.writeLock().lock();
+        try {
+            gameDataMap.clear();
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
     }
 }
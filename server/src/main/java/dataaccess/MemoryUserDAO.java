@@ -2,23 +2,21 @@ package dataaccess;
 
 import model.UserData;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MemoryUserDAO implements UserDAO {
-    private final Map<String, UserData> userDataMap = new HashMap<>();
+    private final ConcurrentHashMap<String, UserData> userDataMap = new ConcurrentHashMap<>();
 
     @Override
     public UserData getUser(String username) throws DataAccessException {
-        return userDataMap.get(username);
+        return username == null ? null : userDataMap.get(username);
     }
 
     @Override
     public void createUser(UserData userData) throws DataAccessException {
-        if (userDataMap.containsKey(userData.username())) {
+        if (userDataMap.putIfAbsent(userData.username(), userData) != null) {
             throw new DataAccessException("User already exists");
         }
-        userDataMap.put(userData.username(), userData);
     }
 
 
@@ -1,22 +1,43 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessGameCodec;
+import chess.ChessJson;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import model.GameData;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Stores games in the {@code games} table. The game state column holds the
+ * {@link ChessGameCodec binary encoding} of the game; rows written as JSON by
+ * older versions are converted when the DAO is created, and are still read
+ * correctly if any remain.
+ */
 public class SQLGameDAO implements GameDAO {
-    private final Gson gson = new Gson();
+    private static final String CLAIM_WHITE_SQL =
+            "UPDATE games SET white_username = ? WHERE game_id = ? AND white_username IS NULL";
+    private static final String CLAIM_BLACK_SQL =
+            "UPDATE games SET black_username = ? WHERE game_id = ? AND black_username IS NULL";
+    private static final String RELEASE_WHITE_SQL =
+            "UPDATE games SET white_username = NULL WHERE game_id = ? AND white_username = ?";
+    private static final String RELEASE_BLACK_SQL =
+            "UPDATE games SET black_username = NULL WHERE game_id = ? AND black_username = ?";
+
+    private final Gson gson = ChessJson.gson();
 
     public SQLGameDAO() throws DataAccessException, DatabaseServiceException {
         createGameTable();
+        migrateGameStateColumn();
+        migrateJsonRows();
     }
 
     private void createGameTable() throws DataAccessException, DatabaseServiceException {
@@ -26,7 +47,7 @@ public class SQLGameDAO implements GameDAO {
                     white_username VARCHAR(255) NULL,
                     black_username VARCHAR(255) NULL,
                     game_name VARCHAR(255) NOT NULL,
-                    game_state TEXT NOT NULL
+                    game_state BLOB NOT NULL
                 )
                 """;
 
@@ -41,6 +62,68 @@ public class SQLGameDAO implements GameDAO {
         }
     }
 
+    /*
+     * Tables created before the binary codec declared game_state as TEXT.
+     * MySQL keeps the stored bytes when the column becomes a BLOB, so the old
+     * JSON rows survive the change and are converted by migrateJsonRows.
+     */
+    private void migrateGameStateColumn() throws DataAccessException, DatabaseServiceException {
+        String typeSql = """
+                SELECT DATA_TYPE FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'games' AND COLUMN_NAME = 'game_state'
+                """;
+        String alterSql = "ALTER TABLE games MODIFY game_state BLOB NOT NULL";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(typeSql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next() && !rs.getString(1).toLowerCase().endsWith("blob")) {
+                try (PreparedStatement alter = conn.prepareStatement(alterSql)) {
+                    alter.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            if (SQLDAOUtils.isConnectionIssue(e)) {
+                throw new DatabaseServiceException("Failed to connect to database for game table migration.", e);
+            }
+            throw new DataAccessException("Error migrating games table", e);
+        }
+    }
+
+    private void migrateJsonRows() throws DataAccessException, DatabaseServiceException {
+        String selectSql = "SELECT game_id, game_state FROM games WHERE LEFT(game_state, 1) <> ?";
+        String updateSql = "UPDATE games SET game_state = ? WHERE game_id = ?";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement select = conn.prepareStatement(selectSql);
+             PreparedStatement update = conn.prepareStatement(updateSql)) {
+            select.setBytes(1, new byte[]{ChessGameCodec.VERSION_1});
+
+            int pending = 0;
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    int gameId = rs.getInt("game_id");
+                    byte[] state = rs.getBytes("game_state");
+                    if (state.length == 0 || ChessGameCodec.isEncoded(state)) {
+                        continue;
+                    }
+                    update.setBytes(1, encodeGameState(decodeGameState(state, gameId)));
+                    update.setInt(2, gameId);
+                    update.addBatch();
+                    pending++;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        } catch (SQLException e) {
+            if (SQLDAOUtils.isConnectionIssue(e)) {
+                throw new DatabaseServiceException("Database connection error while migrating game states.", e);
+            }
+            throw new DataAccessException("Error migrating game states", e);
+        }
+    }
+
     @Override
     public List<GameData> getAllGames() throws DataAccessException, DatabaseServiceException {
         String sql = "SELECT game_id, white_username, black_username, game_name, game_state FROM games";
@@ -101,8 +184,7 @@ public class SQLGameDAO implements GameDAO {
             stmt.setString(3, gameData.blackUsername());
             stmt.setString(4, gameData.gameName());
 
-            String gameStateJson = gson.toJson(gameData.game());
-            stmt.setString(5, gameStateJson);
+            stmt.setBytes(5, encodeGameState(gameData.game()));
 
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -115,8 +197,6 @@ public class SQLGameDAO implements GameDAO {
                 throw new DataAccessException("Game already exists", e);
             }
             throw new DataAccessException("Error creating game", e);
-        } catch (JsonSyntaxException e) {
-            throw new DatabaseServiceException("Error serializing game state for database.", e);
         }
     }
 
@@ -131,8 +211,7 @@ public class SQLGameDAO implements GameDAO {
             stmt.setString(2, gameData.blackUsername());
             stmt.setString(3, gameData.gameName());
 
-            String gameStateJson = gson.toJson(gameData.game());
-            stmt.setString(4, gameStateJson);
+            stmt.setBytes(4, encodeGameState(gameData.game()));
 
             stmt.setInt(5, gameData.gameID());
 
@@ -145,11 +224,115 @@ public class SQLGameDAO implements GameDAO {
                 throw new DatabaseServiceException("Database connection error while updating game.", e);
             }
             throw new DataAccessException("Error updating game", e);
-        } catch (JsonSyntaxException e) {
-            throw new DatabaseServiceException("Error serializing game state for database update.", e);
         }
     }
 
+    @Override
+    public void updateGameState(int gameId, ChessGame game) throws DataAccessException, DatabaseServiceException {
+        String sql = "UPDATE games SET game_state = ? WHERE game_id = ?";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setBytes(1, encodeGameState(game));
+            stmt.setInt(2, gameId);
+
+            if (stmt.executeUpdate() == 0) {
+                throw new DataAccessException("Game not found for update");
+            }
+        } catch (SQLException e) {
+            if (SQLDAOUtils.isConnectionIssue(e)) {
+                throw new DatabaseServiceException("Database connection error while updating game.", e);
+            }
+            throw new DataAccessException("Error updating game", e);
+        }
+    }
+
+    /**
+     * Writes all the games in one JDBC batch. Games that no longer exist are skipped.
+     */
+    @Override
+    public void updateGames(Collection<GameData> games) throws DataAccessException, DatabaseServiceException {
+        String sql = "UPDATE games SET white_username = ?, black_username = ?, game_name = ?, game_state = ? WHERE game_id = ?";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (GameData gameData : games) {
+                stmt.setString(1, gameData.whiteUsername());
+                stmt.setString(2, gameData.blackUsername());
+                stmt.setString(3, gameData.gameName());
+                stmt.setBytes(4, encodeGameState(gameData.game()));
+                stmt.setInt(5, gameData.gameID());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            if (SQLDAOUtils.isConnectionIssue(e)) {
+                throw new DatabaseServiceException("Database connection error while updating games.", e);
+            }
+            throw new DataAccessException("Error updating games", e);
+        }
+    }
+
+    /**
+     * Sets only the seat's column, and only while it is still empty; the
+     * database applies the condition and the update atomically.
+     */
+    @Override
+    public boolean claimSeat(int gameId, ChessGame.TeamColor color, String username)
+            throws DataAccessException, DatabaseServiceException {
+        String sql = color == ChessGame.TeamColor.WHITE ? CLAIM_WHITE_SQL : CLAIM_BLACK_SQL;
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, username);
+            stmt.setInt(2, gameId);
+
+            if (stmt.executeUpdate() == 1) {
+                return true;
+            }
+        } catch (SQLException e) {
+            if (SQLDAOUtils.isConnectionIssue(e)) {
+                throw new DatabaseServiceException("Database connection error while claiming seat.", e);
+            }
+            throw new DataAccessException("Error claiming seat", e);
+        }
+
+        if (!gameExists(gameId)) {
+            throw new DataAccessException("Game not found for ID " + gameId);
+        }
+        return false;
+    }
+
+    /**
+     * Clears only the seat's column, and only while the player still holds it.
+     */
+    @Override
+    public boolean releaseSeat(int gameId, ChessGame.TeamColor color, String username)
+            throws DataAccessException, DatabaseServiceException {
+        String sql = color == ChessGame.TeamColor.WHITE ? RELEASE_WHITE_SQL : RELEASE_BLACK_SQL;
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, gameId);
+            stmt.setString(2, username);
+
+            if (stmt.executeUpdate() == 1) {
+                return true;
+            }
+        } catch (SQLException e) {
+            if (SQLDAOUtils.isConnectionIssue(e)) {
+                throw new DatabaseServiceException("Database connection error while releasing seat.", e);
+            }
+            throw new DataAccessException("Error releasing seat", e);
+        }
+
+        if (!gameExists(gameId)) {
+            throw new DataAccessException("Game not found for ID " + gameId);
+        }
+        return false;
+    }
+
     @Override
     public void clearGame() throws DataAccessException, DatabaseServiceException {
         String sql = "DELETE FROM games";
@@ -183,21 +366,44 @@ public class SQLGameDAO implements GameDAO {
         }
     }
 
-    private GameData extractGameDataFromResultSet(ResultSet rs) throws SQLException, DataAccessException, DatabaseServiceException {
+    private GameData extractGameDataFromResultSet(ResultSet rs) throws SQLException, DatabaseServiceException {
         int gameId = rs.getInt("game_id");
         String whiteUsername = rs.getString("white_username");
         String blackUsername = rs.getString("black_username");
         String gameName = rs.getString("game_name");
-        String gameStateJson = rs.getString("game_state");
+        ChessGame game = decodeGameState(rs.getBytes("game_state"), gameId);
+
+        return new GameData(gameId, whiteUsername, blackUsername, gameName, game);
+    }
+
+    /*
+     * A game that is not set is stored as an empty value.
+     */
+    private static byte[] encodeGameState(ChessGame game) {
+        return game == null ? new byte[0] : ChessGameCodec.encode(game);
+    }
+
+    private ChessGame decodeGameState(byte[] state, int gameId) throws DatabaseServiceException {
+        if (state == null || state.length == 0) {
+            return null;
+        }
+        if (ChessGameCodec.isEncoded(state)) {
+            try {
+                return ChessGameCodec.decode(state);
+            } catch (IllegalArgumentException e) {
+                throw new DatabaseServiceException("Error decoding game state from database for game ID " + gameId, e);
+            }
+        }
 
+        String gameStateJson = new String(state, StandardCharsets.UTF_8);
         try {
             ChessGame game = gson.fromJson(gameStateJson, ChessGame.class);
-            if (game == null && gameStateJson != null && !gameStateJson.equalsIgnoreCase("null")) {
+            if (game == null && !gameStateJson.equalsIgnoreCase("null")) {
                 throw new DatabaseServiceException("Failed to deserialize game state from database: JSON parsed to null for game ID " + gameId);
             }
-            return new GameData(gameId, whiteUsername, blackUsername, gameName, game);
+            return game;
         } catch (JsonSyntaxException e) {
             throw new DatabaseServiceException("Error deserializing game state from database for game ID " + gameId, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package server;
 
 import dataaccess.*;
 
+import java.time.Duration;
+
 public class DAOFactory {
 
     public enum DAOType {
@@ -11,6 +13,18 @@ public class DAOFactory {
 
     private static final DAOType DAO_TYPE = DAOType.SQL;
 
+    private static final int GAME_CACHE_CAPACITY = 1024;
+    private static final Duration GAME_CACHE_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration GAME_FLUSH_INTERVAL = Duration.ofMillis(250);
+
+    private static final int AUTH_CACHE_CAPACITY = 10_000;
+    private static final Duration AUTH_CACHE_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration AUTH_CACHE_NEGATIVE_TIMEOUT = Duration.ofSeconds(5);
+
+    // shared by the HTTP services and the WebSocket handler so they see the same cached data
+    private static CachingGameDAO cachedGameDAO;
+    private static CachingAuthDAO cachedAuthDAO;
+
     public static UserDAO createUserDAO() throws DataAccessException, DatabaseServiceException {
         switch (DAO_TYPE) {
             case MEMORY:
@@ -27,7 +41,7 @@ public class DAOFactory {
             case MEMORY:
                 return new MemoryGameDAO();
             case SQL:
-                return new SQLGameDAO();
+                return cachedGameDAO();
             default:
                 throw new DataAccessException("Unknown DAO type: " + DAO_TYPE);
         }
@@ -38,12 +52,46 @@ public class DAOFactory {
             case MEMORY:
                 return new MemoryAuthDAO();
             case SQL:
-                return new SQLAuthDAO();
+                return cachedAuthDAO();
             default:
                 throw new DataAccessException("Unknown DAO type: " + DAO_TYPE);
         }
     }
 
+    private static synchronized GameDAO cachedGameDAO() throws DataAccessException, DatabaseServiceException {
+        if (cachedGameDAO == null) {
+            cachedGameDAO = new CachingGameDAO(new SQLGameDAO(), GAME_CACHE_CAPACITY,
+                    GAME_CACHE_IDLE_TIMEOUT, GAME_FLUSH_INTERVAL);
+        }
+        return cachedGameDAO;
+    }
+
+    private static synchronized AuthDAO cachedAuthDAO() throws DataAccessException, DatabaseServiceException {
+        if (cachedAuthDAO == null) {
+            cachedAuthDAO = new CachingAuthDAO(new SQLAuthDAO(), AUTH_CACHE_CAPACITY,
+                    AUTH_CACHE_TIMEOUT, AUTH_CACHE_NEGATIVE_TIMEOUT);
+        }
+        return cachedAuthDAO;
+    }
+
+    /**
+     * Writes any cached game updates that have not reached the database yet,
+     * then closes the pooled database connections
+     */
+    public static synchronized void shutdown() throws DataAccessException, DatabaseServiceException {
+        try {
+            if (cachedGameDAO != null) {
+                cachedGameDAO.close();
+                cachedGameDAO = null;
+            }
+        } finally {
+            cachedAuthDAO = null;
+            if (DAO_TYPE == DAOType.SQL) {
+                DatabaseManager.closePool();
+            }
+        }
+    }
+
     public static void initializeDatabase() throws DataAccessException {
         if (DAO_TYPE == DAOType.SQL) {
             DatabaseManager.createDatabase();
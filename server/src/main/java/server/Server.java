@@ -1,5 +1,6 @@
 package server;
 
+import chess.ChessJson;
 import server.handlers.*;
 import service.*;
 import spark.*;
@@ -19,7 +20,7 @@ public class Server {
     private GameCreateService gameCreateService;
     private JoinGameService joinGameService;
     private GameListService gameListService;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
 
     public int run(int desiredPort) {
         Spark.port(desiredPort);
@@ -45,7 +46,7 @@ public class Server {
             joinGameService = new JoinGameService(gameDAO, authDAO);
             gameListService = new GameListService(gameDAO, authDAO);
 
-            Spark.delete("/db", new ClearHandler(clearService));
+            Spark.delete("/db", new ClearHandler(clearService, WebSocketHandler::clearMoveSequences));
             Spark.delete("/session", new LogoutHandler(logoutService));
             Spark.post("/user", new RegisterHandler(registerService));
             Spark.post("/session", new LoginHandler(loginService));
@@ -115,5 +116,10 @@ public class Server {
     public void stop() {
         Spark.stop();
         Spark.awaitStop();
+        try {
+            DAOFactory.shutdown();
+        } catch (DataAccessException | DatabaseServiceException e) {
+            System.err.println("Error writing cached games on shutdown: " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
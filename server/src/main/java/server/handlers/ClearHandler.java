@@ -1,5 +1,6 @@
 package server.handlers;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import dataaccess.DataAccessException;
 import dataaccess.DatabaseServiceException;
@@ -12,16 +13,20 @@ import java.util.Map;
 
 public class ClearHandler implements Route {
     private final ClearService clearService;
-    private final Gson gson = new Gson();
+    // state outside the DAOs that refers to the cleared games
+    private final Runnable afterClear;
+    private final Gson gson = ChessJson.gson();
 
-    public ClearHandler(ClearService clearService) {
+    public ClearHandler(ClearService clearService, Runnable afterClear) {
         this.clearService = clearService;
+        this.afterClear = afterClear;
     }
 
     @Override
     public Object handle(Request request, Response response) {
         try {
             clearService.clear();
+            afterClear.run();
             response.status(200);
             return "{}";
         } catch (DataAccessException | DatabaseServiceException exception) {
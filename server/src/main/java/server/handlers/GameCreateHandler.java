@@ -1,5 +1,6 @@
 package server.handlers;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import service.GameCreateService;
 import dataaccess.DataAccessException;
@@ -12,7 +13,7 @@ import java.util.Map;
 
 public class GameCreateHandler implements Route {
     private final GameCreateService gameCreateService;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
 
     public GameCreateHandler(GameCreateService gameCreateService) {
         this.gameCreateService = gameCreateService;
@@ -1,5 +1,6 @@
 package server.handlers;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import service.GameListService;
 import dataaccess.DataAccessException;
@@ -14,7 +15,7 @@ import java.util.logging.Logger;
 
 public class GameListHandler implements Route {
     private final GameListService gameListService;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
     private static final Logger LOGGER = Logger.getLogger(GameListHandler.class.getName());
 
     public GameListHandler(GameListService gameListService) {
@@ -1,5 +1,6 @@
 package server.handlers;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import service.JoinGameService;
 import dataaccess.DataAccessException;
@@ -11,7 +12,7 @@ import java.util.Map;
 
 public class JoinGameHandler implements Route {
     private final JoinGameService joinGameService;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
 
     public JoinGameHandler(JoinGameService joinGameService) {
         this.joinGameService = joinGameService;
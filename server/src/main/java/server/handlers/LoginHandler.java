@@ -1,5 +1,6 @@
 package server.handlers;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import service.LoginService;
 import model.AuthData;
@@ -12,7 +13,7 @@ import dataaccess.DatabaseServiceException;
 import java.util.Map;
 
 public class LoginHandler implements Route {
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
     private final LoginService loginService;
 
     public LoginHandler(LoginService loginService) {
@@ -1,5 +1,6 @@
 package server.handlers;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import dataaccess.DataAccessException;
 import dataaccess.DatabaseServiceException;
@@ -12,7 +13,7 @@ import java.util.Map;
 
 public class LogoutHandler implements Route {
     private final LogoutService logoutService;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
 
     public LogoutHandler(LogoutService logoutService) {
         this.logoutService = logoutService;
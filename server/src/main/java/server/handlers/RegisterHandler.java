@@ -1,5 +1,6 @@
 package server.handlers;
 
+import chess.ChessJson;
 import com.google.gson.Gson;
 import service.RegisterService;
 import model.AuthData;
@@ -13,7 +14,7 @@ import java.util.Map;
 
 public class RegisterHandler implements Route {
     private final RegisterService registerService;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
 
     public RegisterHandler(RegisterService registerService) {
         this.registerService = registerService;
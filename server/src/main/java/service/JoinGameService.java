@@ -1,10 +1,10 @@
 package service;
 
+import chess.ChessGame;
 import dataaccess.DatabaseServiceException;
 import dataaccess.GameDAO;
 import dataaccess.AuthDAO;
 import dataaccess.DataAccessException;
-import model.GameData;
 import model.AuthData;
 
 public class JoinGameService {
@@ -31,23 +31,9 @@ public class JoinGameService {
             throw new DataAccessException("Error: bad request");
         }
 
-        GameData gameData = gameDAO.getGame(gameID);
-        if (gameData == null) {
-            throw new DataAccessException("Error: bad request");
-        }
-
-        if (playerColor.equals("WHITE") && gameData.whiteUsername() != null) {
-            throw new DataAccessException("Error: already taken");
-        } else if (playerColor.equals("BLACK") && gameData.blackUsername() != null) {
+        ChessGame.TeamColor color = playerColor.equals("WHITE") ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        if (!gameDAO.claimSeat(gameID, color, username)) {
             throw new DataAccessException("Error: already taken");
         }
-
-        if (playerColor.equals("WHITE")) {
-            gameData = new GameData(gameData.gameID(), username, gameData.blackUsername(), gameData.gameName(), gameData.game());
-        } else if (playerColor.equals("BLACK")) {
-            gameData = new GameData(gameData.gameID(), gameData.whiteUsername(), username, gameData.gameName(), gameData.game());
-        }
-
-        gameDAO.updateGame(gameData);
     }
-}
\ No newline at end of file
+}
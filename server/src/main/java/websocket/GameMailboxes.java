@@ -0,0 +1,116 @@
+package websocket;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs WebSocket commands one game at a time.
+ * <p>
+ * Every game gets a mailbox: tasks submitted for the same game run one after
+ * another in submission order, so a command can read, change and write its
+ * game without another command for that game interleaving. Tasks for
+ * different games run in parallel on the worker executor. A mailbox only
+ * exists while it has work and is removed as soon as it drains, so idle games
+ * cost nothing.
+ */
+public class GameMailboxes {
+    // tasks run per turn before a busy game gives its worker back
+    private static final int BATCH_SIZE = 32;
+
+    private final Executor workers;
+    private final ConcurrentHashMap<Integer, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Runs each game's tasks on its own virtual thread
+     */
+    public GameMailboxes() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * @param workers executor that runs the mailboxes; it needs no ordering of its own
+     */
+    public GameMailboxes(Executor workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Queues a task behind every task already submitted for the game
+     */
+    public void submit(int gameId, Runnable task) {
+        // enqueueing and removing a drained mailbox both happen inside compute, so they never race
+        mailboxes.compute(gameId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox(id);
+            }
+            if (mailbox.enqueue(task)) {
+                workers.execute(mailbox);
+            }
+            return mailbox;
+        });
+    }
+
+    /**
+     * @return how many games have queued or running tasks
+     */
+    public int activeGames() {
+        return mailboxes.size();
+    }
+
+    private final class Mailbox implements Runnable {
+        private final int gameId;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private Mailbox(int gameId) {
+            this.gameId = gameId;
+        }
+
+        /**
+         * @return true if the mailbox was idle and has to be scheduled
+         */
+        private synchronized boolean enqueue(Runnable task) {
+            tasks.add(task);
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        /**
+         * @return the next task, or null once the mailbox is empty and no longer scheduled
+         */
+        private synchronized Runnable next() {
+            Runnable task = tasks.poll();
+            if (task == null) {
+                scheduled = false;
+            }
+            return task;
+        }
+
+        private synchronized boolean isIdle() {
+            return !scheduled && tasks.isEmpty();
+        }
+
+        @Override
+        public void run() {
+            for (int ran = 0; ran < BATCH_SIZE; ran++) {
+                Runnable task = next();
+                if (task == null) {
+                    mailboxes.computeIfPresent(gameId, (id, mailbox) -> mailbox == this && isIdle() ? null : mailbox);
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error running command for game " + gameId + ": " + e.getMessage());
+                }
+            }
+            // still scheduled with tasks left; queue behind the other games
+            workers.execute(this);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package websocket;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Bounded queue of outgoing messages for one WebSocket session.
+ * <p>
+ * Messages are written with the asynchronous send API, one at a time and in
+ * the order they were queued, so queueing a message never waits for the
+ * network. A session that reads too slowly fills its queue; what happens then
+ * depends on the {@link Policy}. Either way one slow client can no longer
+ * hold up the game it is watching.
+ */
+public class SessionOutbox {
+
+    /**
+     * What to do with a client that does not keep up
+     */
+    public enum Policy {
+        /**
+         * A queued board update is replaced by a newer one, since only the
+         * latest board matters. If the queue still fills up, the session is
+         * closed.
+         */
+        DROP_STALE_GAME_STATES,
+        /**
+         * Every message is kept, and the session is closed as soon as the
+         * queue is full.
+         */
+        DISCONNECT
+    }
+
+    /**
+     * Where the messages go; a WebSocket session outside of tests
+     */
+    public interface Connection {
+        void send(String payload, WriteCallback callback);
+
+        void send(ByteBuffer payload, WriteCallback callback);
+
+        void close(int statusCode, String reason);
+    }
+
+    /**
+     * @param session  remote address of the session
+     * @param depth    messages waiting to be written
+     * @param maxDepth most messages that were ever waiting at once
+     * @param sent     messages written
+     * @param dropped  board updates replaced by newer ones
+     */
+    public record Metrics(String session, int depth, int maxDepth, long sent, long dropped) {
+    }
+
+    /**
+     * @param text   payload of a text frame, or null for a binary frame
+     * @param binary payload of a binary frame, or null for a text frame
+     */
+    private record Frame(String text, ByteBuffer binary, boolean gameState) {
+    }
+
+    private final String name;
+    private final Connection connection;
+    private final int capacity;
+    private final Policy policy;
+
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+    private boolean writing;
+    private boolean closed;
+    private int maxDepth;
+    private long sent;
+    private long dropped;
+
+    /**
+     * @param name       how the session is named in metrics and logs
+     * @param connection where the messages are written
+     * @param capacity   most messages that may wait to be written
+     * @param policy     what to do when the client does not keep up
+     */
+    public SessionOutbox(String name, Connection connection, int capacity, Policy policy) {
+        this.name = name;
+        this.connection = connection;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    public static SessionOutbox forSession(Session session, int capacity, Policy policy) {
+        return new SessionOutbox(String.valueOf(session.getRemoteAddress()), new Connection() {
+            @Override
+            public void send(String payload, WriteCallback callback) {
+                session.getRemote().sendString(payload, callback);
+            }
+
+            @Override
+            public void send(ByteBuffer payload, WriteCallback callback) {
+                session.getRemote().sendBytes(payload, callback);
+            }
+
+            @Override
+            public void close(int statusCode, String reason) {
+                session.close(statusCode, reason);
+            }
+        }, capacity, policy);
+    }
+
+    /**
+     * Queues a message and starts writing if nothing is being written.
+     *
+     * @param gameState whether the message is a full board update that a newer one makes obsolete
+     * @return false if the outbox is closed or the message made the session be closed
+     */
+    public boolean offer(String payload, boolean gameState) {
+        return offer(new Frame(payload, null, gameState));
+    }
+
+    /**
+     * Queues a binary message; the buffer must not be changed afterwards.
+     *
+     * @see #offer(String, boolean)
+     */
+    public boolean offer(ByteBuffer payload, boolean gameState) {
+        return offer(new Frame(null, payload, gameState));
+    }
+
+    private boolean offer(Frame frame) {
+        Frame first = null;
+        boolean overflow = false;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (frame.gameState && policy == Policy.DROP_STALE_GAME_STATES) {
+                dropQueuedGameStates();
+            }
+            if (queue.size() >= capacity) {
+                overflow = true;
+                closed = true;
+                queue.clear();
+            } else {
+                queue.add(frame);
+                maxDepth = Math.max(maxDepth, queue.size());
+                if (!writing) {
+                    writing = true;
+                    first = queue.poll();
+                }
+            }
+        }
+
+        if (overflow) {
+            System.err.println("Closing slow WebSocket session " + name + ": outbound queue full");
+            connection.close(StatusCode.POLICY_VIOLATION, "Outbound queue full");
+            return false;
+        }
+        if (first != null) {
+            writeFrom(first);
+        }
+        return true;
+    }
+
+    /**
+     * Drops anything still queued; later messages are ignored
+     */
+    public synchronized void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    public synchronized Metrics metrics() {
+        return new Metrics(name, queue.size(), maxDepth, sent, dropped);
+    }
+
+    private void dropQueuedGameStates() {
+        Iterator<Frame> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().gameState) {
+                iterator.remove();
+                dropped++;
+            }
+        }
+    }
+
+    /*
+     * A send may complete on the calling thread; the loop picks up the next
+     * frame in that case instead of recursing from inside the callback, so a
+     * long queue of fast writes cannot overflow the stack.
+     */
+    private void writeFrom(Frame first) {
+        Frame frame = first;
+        while (frame != null) {
+            Write write = new Write();
+            try {
+                if (frame.text != null) {
+                    connection.send(frame.text, write);
+                } else {
+                    connection.send(frame.binary, write);
+                }
+            } catch (RuntimeException e) {
+                write.writeFailed(e);
+            }
+            frame = write.continueOnThisThread();
+        }
+    }
+
+    private synchronized Frame completed() {
+        sent++;
+        return next();
+    }
+
+    private synchronized Frame next() {
+        Frame next = closed ? null : queue.poll();
+        if (next == null) {
+            writing = false;
+        }
+        return next;
+    }
+
+    private synchronized void failed(Throwable cause) {
+        System.err.println("Error sending message to session " + name + ": " + cause.getMessage());
+        closed = true;
+        writing = false;
+        queue.clear();
+    }
+
+    private final class Write implements WriteCallback {
+        private boolean done;
+        private boolean detached;
+        private Frame next;
+
+        @Override
+        public void writeSuccess() {
+            Frame nextFrame = completed();
+            if (handOff(nextFrame)) {
+                writeFrom(nextFrame);
+            }
+        }
+
+        @Override
+        public void writeFailed(Throwable cause) {
+            failed(cause);
+            handOff(null);
+        }
+
+        /*
+         * Returns true if the sending thread has already moved on, in which
+         * case the callback continues with the next frame itself.
+         */
+        private synchronized boolean handOff(Frame nextFrame) {
+            done = true;
+            next = nextFrame;
+            return detached && nextFrame != null;
+        }
+
+        private synchronized Frame continueOnThisThread() {
+            if (done) {
+                return next;
+            }
+            detached = true;
+            return null;
+        }
+    }
+}
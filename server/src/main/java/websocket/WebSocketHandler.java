@@ -1,10 +1,14 @@
 package websocket;
 
 import chess.ChessGame;
+import chess.ChessJson;
 import chess.ChessMove;
 import chess.ChessPosition;
 import chess.InvalidMoveException;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import dataaccess.AuthDAO;
 import dataaccess.GameDAO;
 import dataaccess.UserDAO;
@@ -20,9 +24,14 @@ import websocket.commands.MakeMoveCommand;
 import websocket.commands.UserGameCommand;
 import websocket.messages.ErrorMessage;
 import websocket.messages.LoadGameMessage;
+import websocket.messages.MoveMessage;
 import websocket.messages.NotificationMessage;
+import websocket.messages.ServerMessage;
 
-import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @WebSocket
@@ -30,11 +39,26 @@ public class WebSocketHandler {
     private static final ConcurrentHashMap<Integer, ConcurrentHashMap<String, Session>> GAME_SESSIONS = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<Session, String> SESSION_TO_AUTH = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<Session, Integer> SESSION_TO_GAME = new ConcurrentHashMap<>();
+    // commands for one game run in order, one at a time; different games run in parallel
+    private static final GameMailboxes GAME_MAILBOXES = new GameMailboxes();
+    // games each session has sent commands for, whose mailboxes its cleanup must follow
+    private static final ConcurrentHashMap<Session, Set<Integer>> SESSION_MAILBOXES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Session, SessionOutbox> OUTBOXES = new ConcurrentHashMap<>();
+    // sessions that sent binary commands and are answered in binary
+    private static final Set<Session> BINARY_SESSIONS = ConcurrentHashMap.newKeySet();
+    // sessions that asked for MOVE messages instead of the whole game after each move
+    private static final Set<Session> MOVE_UPDATE_SESSIONS = ConcurrentHashMap.newKeySet();
+    // number of the last move made in each game while it had sessions
+    private static final ConcurrentHashMap<Integer, Long> MOVE_SEQUENCES = new ConcurrentHashMap<>();
+
+    private static final int OUTBOX_CAPACITY = Integer.getInteger("websocket.outbox.capacity", 64);
+    private static final SessionOutbox.Policy OUTBOX_POLICY = SessionOutbox.Policy.valueOf(
+            System.getProperty("websocket.outbox.policy", SessionOutbox.Policy.DROP_STALE_GAME_STATES.name()));
 
     private final AuthDAO authDAO;
     private final GameDAO gameDAO;
     private final UserDAO userDAO;
-    private final Gson gson = new Gson();
+    private final Gson gson = ChessJson.gson();
 
     public WebSocketHandler() throws Exception {
         this.authDAO = DAOFactory.createAuthDAO();
@@ -42,15 +66,41 @@ public class WebSocketHandler {
         this.userDAO = DAOFactory.createUserDAO();
     }
 
+    /**
+     * Forgets the move numbers of every game, for when all games are cleared
+     */
+    public static void clearMoveSequences() {
+        MOVE_SEQUENCES.clear();
+    }
+
     @OnWebSocketConnect
     public void onConnect(Session session) {
         System.out.println("WebSocket connected: " + session.getRemoteAddress());
+        OUTBOXES.put(session, SessionOutbox.forSession(session, OUTBOX_CAPACITY, OUTBOX_POLICY));
+    }
+
+    /**
+     * @return outbound queue statistics for every open session
+     */
+    public static List<SessionOutbox.Metrics> outboundQueueMetrics() {
+        List<SessionOutbox.Metrics> metrics = new ArrayList<>();
+        OUTBOXES.values().forEach(outbox -> metrics.add(outbox.metrics()));
+        return metrics;
     }
 
     @OnWebSocketClose
     public void onClose(Session session, int statusCode, String reason) {
         System.out.println("WebSocket closed: " + reason);
-        cleanupSession(session);
+        // a command still queued for the session's game would register the closed
+        // session again, so the cleanup waits behind it in the same mailbox
+        Set<Integer> gameIDs = SESSION_MAILBOXES.remove(session);
+        if (gameIDs == null || gameIDs.isEmpty()) {
+            cleanupSession(session);
+            return;
+        }
+        for (Integer gameID : gameIDs) {
+            GAME_MAILBOXES.submit(gameID, () -> cleanupSession(session));
+        }
     }
 
     @OnWebSocketError
@@ -60,14 +110,63 @@ public class WebSocketHandler {
 
     @OnWebSocketMessage
     public void onMessage(Session session, String message) {
+        UserGameCommand command;
+        try {
+            command = parseCommand(message);
+        } catch (Exception e) {
+            sendError(session, "Error processing command: " + e.getMessage());
+            return;
+        }
+        dispatch(session, command);
+    }
+
+    /**
+     * Binary commands use {@link BinaryProtocol}; a session that sends one is
+     * answered in binary from then on.
+     */
+    @OnWebSocketMessage
+    public void onMessage(Session session, byte[] payload, int offset, int length) {
+        BINARY_SESSIONS.add(session);
+        UserGameCommand command;
+        try {
+            command = BinaryProtocol.decodeCommand(ByteBuffer.wrap(payload, offset, length));
+        } catch (IllegalArgumentException e) {
+            sendError(session, "Error processing command: " + e.getMessage());
+            return;
+        }
+        dispatch(session, command);
+    }
+
+    /*
+     * Parses the text once into a tree and binds it to the concrete command
+     * class, instead of parsing the text again for a move.
+     */
+    private UserGameCommand parseCommand(String message) {
+        JsonObject json = JsonParser.parseString(message).getAsJsonObject();
+        JsonElement type = json.get("commandType");
+        if (type != null && UserGameCommand.CommandType.MAKE_MOVE.name().equals(type.getAsString())) {
+            return gson.fromJson(json, MakeMoveCommand.class);
+        }
+        return gson.fromJson(json, UserGameCommand.class);
+    }
+
+    private void dispatch(Session session, UserGameCommand command) {
+        if (command.getGameID() == null) {
+            handleCommand(session, command);
+            return;
+        }
+        SESSION_MAILBOXES.computeIfAbsent(session, key -> ConcurrentHashMap.newKeySet()).add(command.getGameID());
+        GAME_MAILBOXES.submit(command.getGameID(), () -> handleCommand(session, command));
+    }
+
+    private void handleCommand(Session session, UserGameCommand command) {
         try {
-            UserGameCommand command = gson.fromJson(message, UserGameCommand.class);
             switch (command.getCommandType()) {
                 case CONNECT:
                     handleConnect(session, command);
                     break;
                 case MAKE_MOVE:
-                    handleMakeMove(session, message);
+                    handleMakeMove(session, (MakeMoveCommand) command);
                     break;
                 case LEAVE:
                     handleLeave(session, command);
@@ -75,6 +174,9 @@ public class WebSocketHandler {
                 case RESIGN:
                     handleResign(session, command);
                     break;
+                case SYNC:
+                    handleSync(session, command);
+                    break;
                 default:
                     sendError(session, "Unsupported command type");
             }
@@ -101,8 +203,11 @@ public class WebSocketHandler {
             SESSION_TO_GAME.put(session, command.getGameID());
             GAME_SESSIONS.computeIfAbsent(command.getGameID(), k -> new ConcurrentHashMap<>())
                     .put(command.getAuthToken(), session);
+            if (command.wantsMoveUpdates()) {
+                MOVE_UPDATE_SESSIONS.add(session);
+            }
 
-            sendToSession(session, new LoadGameMessage(gameData.game()));
+            sendToSession(session, new LoadGameMessage(gameData.game(), moveSequence(command.getGameID())));
 
             String username = authData.username();
             String notificationMsg = username + " joined the game.";
@@ -115,10 +220,8 @@ public class WebSocketHandler {
         }
     }
 
-    private void handleMakeMove(Session session, String message) {
+    private void handleMakeMove(Session session, MakeMoveCommand moveCommand) {
         try {
-            MakeMoveCommand moveCommand = gson.fromJson(message, MakeMoveCommand.class);
-
             var authData = authDAO.getAuthToken(moveCommand.getAuthToken());
             if (authData == null) {
                 sendError(session, "Error: Invalid auth token");
@@ -157,12 +260,13 @@ public class WebSocketHandler {
                 return;
             }
 
-            gameDAO.updateGame(gameData);
+            gameDAO.updateGameState(moveCommand.getGameID(), game);
 
             String moveStr = formatMove(move);
             sendNotificationToOthers(moveCommand.getGameID(), moveCommand.getAuthToken(), authData.username() + " moved: " + moveStr);
 
-            sendGameStateToAll(moveCommand.getGameID(), game);
+            long sequence = MOVE_SEQUENCES.merge(moveCommand.getGameID(), 1L, Long::sum);
+            sendMoveToAll(moveCommand.getGameID(), game, move, sequence);
 
             checkGameState(moveCommand.getGameID(), game);
 
@@ -200,7 +304,7 @@ public class WebSocketHandler {
 
 
             game.setGameOver(true);
-            gameDAO.updateGame(gameData);
+            gameDAO.updateGameState(command.getGameID(), game);
 
             sendNotificationToAll(command.getGameID(), username + " has resigned. Game over.");
 
@@ -209,6 +313,30 @@ public class WebSocketHandler {
         }
     }
 
+    private void handleSync(Session session, UserGameCommand command) {
+        try {
+            var authData = authDAO.getAuthToken(command.getAuthToken());
+            if (authData == null) {
+                sendError(session, "Error: Invalid auth token");
+                return;
+            }
+
+            if (!command.getGameID().equals(SESSION_TO_GAME.get(session))) {
+                sendError(session, "Error: Not connected to this game");
+                return;
+            }
+
+            GameData gameData = gameDAO.getGame(command.getGameID());
+            if (gameData == null) {
+                sendError(session, "Error: Game not found");
+                return;
+            }
+            sendToSession(session, new LoadGameMessage(gameData.game(), moveSequence(command.getGameID())));
+        } catch (Exception e) {
+            sendError(session, "Error loading game: " + e.getMessage());
+        }
+    }
+
     private void handleLeave(Session session, UserGameCommand command) {
         try {
             var authData = authDAO.getAuthToken(command.getAuthToken());
@@ -220,20 +348,14 @@ public class WebSocketHandler {
             Integer gameID = command.getGameID();
             String username = authData.username();
 
-            var sessions = GAME_SESSIONS.get(gameID);
-            if (sessions != null) {
-                sessions.remove(command.getAuthToken());
-                if (sessions.isEmpty()) {
-                    GAME_SESSIONS.remove(gameID);
-                }
-            }
+            removeFromGame(gameID, command.getAuthToken());
 
             GameData gameData = gameDAO.getGame(gameID);
             if (gameData != null) {
                 if (username.equals(gameData.whiteUsername())) {
-                    gameDAO.updateGame(new GameData(gameID, null, gameData.blackUsername(), gameData.gameName(), gameData.game()));
+                    gameDAO.releaseSeat(gameID, ChessGame.TeamColor.WHITE, username);
                 } else if (username.equals(gameData.blackUsername())) {
-                    gameDAO.updateGame(new GameData(gameID, gameData.whiteUsername(), null, gameData.gameName(), gameData.game()));
+                    gameDAO.releaseSeat(gameID, ChessGame.TeamColor.BLACK, username);
                 }
             }
 
@@ -258,19 +380,30 @@ public class WebSocketHandler {
     }
 
     private void sendNotificationToAll(Integer gameID, String notificationMessage) {
-        var sessions = GAME_SESSIONS.get(gameID);
-        if (sessions != null) {
-            sessions.values().forEach(session -> sendToSession(session, new NotificationMessage(notificationMessage)));
-        }
+        broadcast(gameID, null, new NotificationMessage(notificationMessage));
     }
 
-    private void sendGameStateToAll(Integer gameID, ChessGame game) {
+    /**
+     * Sends the whole game to sessions that follow full updates and only the
+     * move to sessions that asked for move updates; each message is
+     * serialized once per format.
+     */
+    private void sendMoveToAll(Integer gameID, ChessGame game, ChessMove move, long sequence) {
         var sessions = GAME_SESSIONS.get(gameID);
-        if (sessions != null) {
-            sessions.values().forEach(session -> sendToSession(session, new LoadGameMessage(game)));
+        if (sessions == null) {
+            return;
+        }
+        Outgoing loadGame = new Outgoing(new LoadGameMessage(game, sequence));
+        Outgoing moveMessage = new Outgoing(new MoveMessage(move, sequence, game.positionKey()));
+        for (Session session : sessions.values()) {
+            send(session, MOVE_UPDATE_SESSIONS.contains(session) ? moveMessage : loadGame);
         }
     }
 
+    private long moveSequence(Integer gameID) {
+        return MOVE_SEQUENCES.getOrDefault(gameID, 0L);
+    }
+
     private void checkGameState(Integer gameID, ChessGame game) {
         try {
             ChessGame.TeamColor currentTeam = game.getTeamTurn();
@@ -279,11 +412,11 @@ public class WebSocketHandler {
                 String teamName = (currentTeam == ChessGame.TeamColor.WHITE) ? "White" : "Black";
                 sendNotificationToAll(gameID, teamName + " is in checkmate");
                 game.setGameOver(true);
-                gameDAO.updateGame(new GameData(gameID, gameDataWhite(gameID), gameDataBlack(gameID), gameDataName(gameID), game));
+                gameDAO.updateGameState(gameID, game);
             } else if (game.isInStalemate(currentTeam)) {
                 sendNotificationToAll(gameID, "Game ended in stalemate");
                 game.setGameOver(true);
-                gameDAO.updateGame(new GameData(gameID, gameDataWhite(gameID), gameDataBlack(gameID), gameDataName(gameID), game));
+                gameDAO.updateGameState(gameID, game);
             } else if (game.isInCheck(currentTeam)) {
                 String teamName = (currentTeam == ChessGame.TeamColor.WHITE) ? "White" : "Black";
                 sendNotificationToAll(gameID, teamName + " is in check");
@@ -293,56 +426,53 @@ public class WebSocketHandler {
         }
     }
 
-    private String gameDataWhite(Integer gameID) {
-        try {
-            GameData gameData = gameDAO.getGame(gameID);
-            return gameData.whiteUsername();
-        } catch (Exception e) {
-            System.err.println("Error retrieving white username for game " + gameID + ": " + e.getMessage());
-            return "";
-        }
-    }
-
-    private String gameDataBlack(Integer gameID) {
-        try {
-            GameData gameData = gameDAO.getGame(gameID);
-            return gameData.blackUsername();
-        } catch (Exception e) {
-            System.err.println("Error retrieving black username for game " + gameID + ": " + e.getMessage());
-            return "";
-        }
-    }
-
-    private String gameDataName(Integer gameID) {
-        try {
-            GameData gameData = gameDAO.getGame(gameID);
-            return gameData.gameName();
-        } catch (Exception e) {
-            System.err.println("Error retrieving game name for game " + gameID + ": " + e.getMessage());
-            return "";
-        }
+    private void sendNotificationToOthers(Integer gameID, String excludeAuthToken, String notificationMessage) {
+        broadcast(gameID, excludeAuthToken, new NotificationMessage(notificationMessage));
     }
 
-
-    private void sendNotificationToOthers(Integer gameID, String excludeAuthToken, String notificationMessage) {
+    /**
+     * Sends one message to every session in a game, except the one with the
+     * excluded auth token. The message is serialized at most once per format
+     * and every session is sent the same payload.
+     */
+    private void broadcast(Integer gameID, String excludeAuthToken, ServerMessage message) {
         var sessions = GAME_SESSIONS.get(gameID);
-        if (sessions != null) {
-            sessions.entrySet().stream()
-                    .filter(entry -> !entry.getKey().equals(excludeAuthToken))
-                    .forEach(entry -> sendToSession(entry.getValue(), new NotificationMessage(notificationMessage)));
+        if (sessions == null) {
+            return;
+        }
+        Outgoing outgoing = new Outgoing(message);
+        for (var entry : sessions.entrySet()) {
+            if (!entry.getKey().equals(excludeAuthToken)) {
+                send(entry.getValue(), outgoing);
+            }
         }
     }
 
     private void cleanupSession(Session session) {
+        MOVE_UPDATE_SESSIONS.remove(session);
+        BINARY_SESSIONS.remove(session);
+        SessionOutbox outbox = OUTBOXES.remove(session);
+        if (outbox != null) {
+            outbox.close();
+        }
         String authToken = SESSION_TO_AUTH.remove(session);
         Integer gameID = SESSION_TO_GAME.remove(session);
         if (authToken != null && gameID != null) {
-            var sessions = GAME_SESSIONS.get(gameID);
-            if (sessions != null) {
-                sessions.remove(authToken);
-                if (sessions.isEmpty()) {
-                    GAME_SESSIONS.remove(gameID);
-                }
+            removeFromGame(gameID, authToken);
+        }
+    }
+
+    /*
+     * The move count is dropped with the last session; whoever connects next
+     * starts over from the LOAD_GAME they are sent.
+     */
+    private static void removeFromGame(Integer gameID, String authToken) {
+        var sessions = GAME_SESSIONS.get(gameID);
+        if (sessions != null) {
+            sessions.remove(authToken);
+            if (sessions.isEmpty()) {
+                GAME_SESSIONS.remove(gameID);
+                MOVE_SEQUENCES.remove(gameID);
             }
         }
     }
@@ -351,13 +481,57 @@ public class WebSocketHandler {
         sendToSession(session, new ErrorMessage(errorMessage));
     }
 
-    private void sendToSession(Session session, Object message) {
-        if (session.isOpen()) {
-            try {
-                session.getRemote().sendString(gson.toJson(message));
-            } catch (IOException e) {
-                System.err.println("Error sending message to session: " + e.getMessage());
+    private void sendToSession(Session session, ServerMessage message) {
+        send(session, new Outgoing(message));
+    }
+
+    /*
+     * Queues the message on the session's outbox in the session's format; the
+     * actual write happens asynchronously, so a slow client never holds up
+     * the game's commands.
+     */
+    private void send(Session session, Outgoing message) {
+        SessionOutbox outbox = OUTBOXES.get(session);
+        if (outbox == null || !session.isOpen()) {
+            return;
+        }
+        if (BINARY_SESSIONS.contains(session)) {
+            outbox.offer(message.binary(), message.isGameState());
+        } else {
+            outbox.offer(message.json(), message.isGameState());
+        }
+    }
+
+    /**
+     * A message on its way to one or more sessions, serialized on first use
+     * in each format
+     */
+    private final class Outgoing {
+        private final ServerMessage message;
+        private String json;
+        private byte[] binary;
+
+        private Outgoing(ServerMessage message) {
+            this.message = message;
+        }
+
+        private boolean isGameState() {
+            return message.getServerMessageType() == ServerMessage.ServerMessageType.LOAD_GAME;
+        }
+
+        private String json() {
+            if (json == null) {
+                json = gson.toJson(message);
+            }
+            return json;
+        }
+
+        private ByteBuffer binary() {
+            if (binary == null) {
+                binary = BinaryProtocol.encodeMessage(message);
             }
+            // each write gets its own position over the shared bytes
+            return ByteBuffer.wrap(binary).asReadOnlyBuffer();
         }
     }
 }
\ No newline at end of file
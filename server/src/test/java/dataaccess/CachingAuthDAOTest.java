@@ -0,0 +1,113 @@
+package dataaccess;
+
+import model.AuthData;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingAuthDAOTest {
+    private CountingAuthDAO storedTokens;
+    private CachingAuthDAO authDAO;
+    private long now;
+
+    private static class CountingAuthDAO extends MemoryAuthDAO {
+        private int reads;
+        // runs after a lookup has read the store, to race a write against it
+        private Runnable afterRead = () -> { };
+
+        @Override
+        public AuthData getAuthToken(String authToken) throws DataAccessException {
+            reads++;
+            AuthData authData = super.getAuthToken(authToken);
+            afterRead.run();
+            return authData;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws DataAccessException, DatabaseServiceException {
+        storedTokens = new CountingAuthDAO();
+        authDAO = new CachingAuthDAO(storedTokens, 3, Duration.ofMinutes(5), Duration.ofSeconds(5), () -> now);
+        authDAO.createAuthToken(new AuthData("validToken", "testUser"));
+    }
+
+    @Test
+    @DisplayName("Known tokens are answered from the cache")
+    void testPositiveEntry() throws DataAccessException, DatabaseServiceException {
+        assertEquals("testUser", authDAO.getAuthToken("validToken").username(), "Cached token should resolve");
+        assertEquals("testUser", authDAO.getAuthToken("validToken").username(), "Cached token should resolve");
+
+        assertEquals(0, storedTokens.reads, "Created token should not need a database lookup");
+        assertEquals(2, authDAO.hitCount(), "Both lookups should be hits");
+        assertEquals(0, authDAO.missCount(), "No lookup should miss");
+    }
+
+    @Test
+    @DisplayName("Unknown tokens are cached until the negative timeout")
+    void testNegativeEntry() throws DataAccessException, DatabaseServiceException {
+        assertNull(authDAO.getAuthToken("badToken"), "Unknown token should not resolve");
+        assertNull(authDAO.getAuthToken("badToken"), "Unknown token should not resolve");
+        assertEquals(1, storedTokens.reads, "Repeated unknown token should be answered from the cache");
+
+        now += Duration.ofSeconds(6).toNanos();
+        authDAO.getAuthToken("badToken");
+
+        assertEquals(2, storedTokens.reads, "Expired negative entry should be looked up again");
+        assertEquals(2, authDAO.missCount(), "Both database lookups should be misses");
+    }
+
+    @Test
+    @DisplayName("Creating a token replaces a negative entry")
+    void testCreateAfterNegativeEntry() throws DataAccessException, DatabaseServiceException {
+        assertNull(authDAO.getAuthToken("newToken"), "Token should not exist yet");
+
+        authDAO.createAuthToken(new AuthData("newToken", "newUser"));
+
+        assertEquals("newUser", authDAO.getAuthToken("newToken").username(), "New token should resolve immediately");
+    }
+
+    @Test
+    @DisplayName("A lookup racing with a create does not hide the new token")
+    void testCreateDuringLookup() throws DataAccessException, DatabaseServiceException {
+        storedTokens.afterRead = () -> {
+            storedTokens.afterRead = () -> { };
+            assertDoesNotThrow(() -> authDAO.createAuthToken(new AuthData("newToken", "newUser")));
+        };
+
+        assertNull(authDAO.getAuthToken("newToken"), "Lookup should return what it read before the create");
+
+        assertEquals("newUser", authDAO.getAuthToken("newToken").username(),
+                "Stale negative result should not replace the created token");
+    }
+
+    @Test
+    @DisplayName("Deleting a token invalidates it immediately")
+    void testDelete() throws DataAccessException, DatabaseServiceException {
+        authDAO.getAuthToken("validToken");
+
+        authDAO.deleteAuthToken("validToken");
+
+        assertNull(authDAO.getAuthToken("validToken"), "Deleted token should not resolve");
+    }
+
+    @Test
+    @DisplayName("Clearing invalidates every token")
+    void testClear() throws DataAccessException, DatabaseServiceException {
+        authDAO.clearAuth();
+
+        assertNull(authDAO.getAuthToken("validToken"), "Cleared token should not resolve");
+        assertEquals(1, storedTokens.reads, "Cleared token should be looked up again");
+    }
+
+    @Test
+    @DisplayName("Cache stays within its capacity")
+    void testCapacity() throws DataAccessException, DatabaseServiceException {
+        for (int i = 0; i < 10; i++) {
+            authDAO.getAuthToken("token" + i);
+        }
+
+        assertTrue(authDAO.size() <= 3, "Cache should not grow past its capacity");
+    }
+}
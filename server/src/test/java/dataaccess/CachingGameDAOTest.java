@@ -0,0 +1,265 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import model.GameData;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingGameDAOTest {
+    private CountingGameDAO storedGames;
+    private CachingGameDAO gameDAO;
+    private long now;
+
+    private static class CountingGameDAO extends MemoryGameDAO {
+        private int reads;
+        private int writes;
+        private int batches;
+
+        @Override
+        public GameData getGame(int gameId) throws DataAccessException {
+            reads++;
+            return super.getGame(gameId);
+        }
+
+        @Override
+        public void updateGame(GameData gameData) throws DataAccessException {
+            writes++;
+            super.updateGame(gameData);
+        }
+
+        @Override
+        public void updateGames(Collection<GameData> games) throws DataAccessException, DatabaseServiceException {
+            batches++;
+            super.updateGames(games);
+        }
+    }
+
+    private static class BlockingGameDAO extends MemoryGameDAO {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void updateGames(Collection<GameData> games) throws DataAccessException, DatabaseServiceException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.updateGames(games);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws DataAccessException, DatabaseServiceException {
+        storedGames = new CountingGameDAO();
+        gameDAO = new CachingGameDAO(storedGames, 2, Duration.ofMinutes(1), () -> now);
+        gameDAO.createGame(new GameData(1, "WhitePlayer", "BlackPlayer", "Game1", new ChessGame()));
+    }
+
+    @Test
+    @DisplayName("Resident games are read from memory")
+    void testReadsAreCached() throws DataAccessException, DatabaseServiceException {
+        gameDAO.getGame(1);
+        gameDAO.getGame(1);
+
+        assertEquals(0, storedGames.reads, "Resident game should not be read from the underlying DAO");
+    }
+
+    @Test
+    @DisplayName("Callers get their own copy of a game")
+    void testReadsAreIsolated() throws DataAccessException, DatabaseServiceException, InvalidMoveException {
+        GameData first = gameDAO.getGame(1);
+        first.game().makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+
+        assertEquals(new ChessGame(), gameDAO.getGame(1).game(), "Unsaved changes should not leak into the cache");
+    }
+
+    @Test
+    @DisplayName("Updates are coalesced and written on flush")
+    void testWriteBehind() throws DataAccessException, DatabaseServiceException {
+        ChessGame game = new ChessGame();
+        game.setGameOver(true);
+        gameDAO.updateGame(new GameData(1, "WhitePlayer", null, "Game1", new ChessGame()));
+        gameDAO.updateGame(new GameData(1, "WhitePlayer", null, "Game1", game));
+
+        assertEquals(0, storedGames.writes, "Updates should not be written before a flush");
+        assertTrue(gameDAO.getGame(1).game().isGameOver(), "Reads should see the latest update");
+        assertTrue(gameDAO.getAllGames().get(0).game().isGameOver(), "Game list should see the latest update");
+
+        gameDAO.flush();
+
+        assertEquals(1, storedGames.batches, "Dirty games should be written in one batch");
+        assertEquals(1, storedGames.writes, "Repeated updates should be coalesced into one write");
+        assertTrue(storedGames.getGame(1).game().isGameOver(), "Latest update should be stored");
+        assertEquals(0, gameDAO.dirtyCount(), "No games should be dirty after a flush");
+    }
+
+    @Test
+    @DisplayName("Updating a missing game fails immediately")
+    void testUpdateMissingGame() {
+        assertThrows(DataAccessException.class,
+                () -> gameDAO.updateGame(new GameData(99, null, null, "Missing", new ChessGame())),
+                "Updating a game that does not exist should throw an exception");
+    }
+
+    @Test
+    @DisplayName("Idle games are evicted after they are flushed")
+    void testIdleEviction() throws DataAccessException, DatabaseServiceException {
+        gameDAO.updateGame(new GameData(1, "WhitePlayer", null, "Game1", new ChessGame()));
+        now += Duration.ofMinutes(2).toNanos();
+
+        gameDAO.flush();
+
+        assertEquals(0, gameDAO.size(), "Idle game should be evicted once written");
+        assertNull(gameDAO.getGame(1).blackUsername(), "Evicted game should be reloaded with its last update");
+        assertEquals(1, storedGames.reads, "Evicted game should be read from the underlying DAO");
+    }
+
+    @Test
+    @DisplayName("Least recently used games are evicted over capacity")
+    void testCapacityEviction() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(2, null, null, "Game2", new ChessGame()));
+        gameDAO.getGame(1);
+        gameDAO.createGame(new GameData(3, null, null, "Game3", new ChessGame()));
+
+        assertEquals(2, gameDAO.size(), "Cache should not grow past its capacity");
+        gameDAO.getGame(1);
+        assertEquals(0, storedGames.reads, "Recently used game should stay resident");
+        gameDAO.getGame(2);
+        assertEquals(1, storedGames.reads, "Least recently used game should be evicted");
+    }
+
+    @Test
+    @DisplayName("Clearing drops resident and unwritten games")
+    void testClear() throws DataAccessException, DatabaseServiceException {
+        gameDAO.updateGame(new GameData(1, "WhitePlayer", null, "Game1", new ChessGame()));
+
+        gameDAO.clearGame();
+        gameDAO.flush();
+
+        List<GameData> games = gameDAO.getAllGames();
+        assertTrue(games.isEmpty(), "No games should remain after clearing");
+        assertThrows(DataAccessException.class, () -> gameDAO.getGame(1), "Cleared game should not be readable");
+    }
+
+    @Test
+    @DisplayName("Seat claims are decided against unwritten updates")
+    void testClaimSeat() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(2, null, null, "Game2", new ChessGame()));
+        gameDAO.updateGame(new GameData(2, "WhitePlayer", null, "Game2", new ChessGame()));
+
+        assertFalse(gameDAO.claimSeat(2, ChessGame.TeamColor.WHITE, "OtherPlayer"),
+                "Seat taken by an unwritten update should not be claimable");
+        assertTrue(gameDAO.claimSeat(2, ChessGame.TeamColor.BLACK, "BlackPlayer"), "Empty seat should be claimable");
+        gameDAO.flush();
+
+        GameData stored = storedGames.getGame(2);
+        assertEquals("WhitePlayer", stored.whiteUsername(), "Earlier update should be written");
+        assertEquals("BlackPlayer", stored.blackUsername(), "Claim should be written with the flush");
+    }
+
+    @Test
+    @DisplayName("Seat claims are written through without a flush")
+    void testClaimSeatWrittenThrough() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(2, null, null, "Game2", new ChessGame()));
+
+        assertTrue(gameDAO.claimSeat(2, ChessGame.TeamColor.WHITE, "WhitePlayer"), "Empty seat should be claimable");
+
+        assertEquals("WhitePlayer", storedGames.getGame(2).whiteUsername(), "Claim should be stored right away");
+        assertEquals("WhitePlayer", gameDAO.getGame(2).whiteUsername(), "Resident copy should show the claim");
+        assertEquals(0, gameDAO.dirtyCount(), "Claim should not leave the game to be rewritten");
+        assertFalse(gameDAO.claimSeat(2, ChessGame.TeamColor.WHITE, "OtherPlayer"), "Claimed seat should stay taken");
+    }
+
+    @Test
+    @DisplayName("A seat freed by an unwritten update can be claimed")
+    void testClaimSeatFreedByUnwrittenUpdate() throws DataAccessException, DatabaseServiceException {
+        gameDAO.updateGame(new GameData(1, null, "BlackPlayer", "Game1", new ChessGame()));
+
+        assertTrue(gameDAO.claimSeat(1, ChessGame.TeamColor.WHITE, "NewPlayer"), "Freed seat should be claimable");
+
+        GameData stored = storedGames.getGame(1);
+        assertEquals("NewPlayer", stored.whiteUsername(), "Claim should be stored");
+        assertEquals("BlackPlayer", stored.blackUsername(), "Other seat should be kept");
+        assertEquals(0, gameDAO.dirtyCount(), "Pending update should have been written");
+    }
+
+    @Test
+    @DisplayName("A game state update from an earlier read keeps a later claim")
+    void testUpdateGameStateKeepsClaim() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(2, null, "BlackPlayer", "Game2", new ChessGame()));
+        ChessGame game = gameDAO.getGame(2).game();
+        assertTrue(gameDAO.claimSeat(2, ChessGame.TeamColor.WHITE, "WhitePlayer"), "Empty seat should be claimable");
+
+        game.setGameOver(true);
+        gameDAO.updateGameState(2, game);
+        gameDAO.flush();
+
+        GameData stored = storedGames.getGame(2);
+        assertTrue(stored.game().isGameOver(), "Game state should be written");
+        assertEquals("WhitePlayer", stored.whiteUsername(), "Claim should survive the state update");
+        assertEquals("WhitePlayer", gameDAO.getGame(2).whiteUsername(), "Resident copy should keep the claim");
+    }
+
+    @Test
+    @DisplayName("Releasing a seat keeps a claim on the other seat")
+    void testReleaseSeat() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(2, "WhitePlayer", null, "Game2", new ChessGame()));
+        assertTrue(gameDAO.claimSeat(2, ChessGame.TeamColor.BLACK, "BlackPlayer"), "Empty seat should be claimable");
+
+        assertFalse(gameDAO.releaseSeat(2, ChessGame.TeamColor.WHITE, "OtherPlayer"),
+                "Seat held by someone else should not be released");
+        assertTrue(gameDAO.releaseSeat(2, ChessGame.TeamColor.WHITE, "WhitePlayer"), "Own seat should be released");
+        gameDAO.flush();
+
+        GameData stored = storedGames.getGame(2);
+        assertNull(stored.whiteUsername(), "Released seat should be written");
+        assertEquals("BlackPlayer", stored.blackUsername(), "Claim on the other seat should be kept");
+    }
+
+    @Test
+    @DisplayName("Games being written are not evicted")
+    void testNoEvictionWhileWriting() throws Exception {
+        BlockingGameDAO blockedGames = new BlockingGameDAO();
+        CachingGameDAO cache = new CachingGameDAO(blockedGames, 1, Duration.ofMinutes(1), () -> now);
+        cache.createGame(new GameData(1, "WhitePlayer", "BlackPlayer", "Game1", new ChessGame()));
+        ChessGame finished = new ChessGame();
+        finished.setGameOver(true);
+        cache.updateGame(new GameData(1, "WhitePlayer", "BlackPlayer", "Game1", finished));
+
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> flushed = writer.submit(() -> {
+                cache.flush();
+                return null;
+            });
+            assertTrue(blockedGames.writing.await(5, TimeUnit.SECONDS), "Flush should start writing the batch");
+
+            cache.createGame(new GameData(2, null, null, "Game2", new ChessGame()));
+            assertTrue(cache.getGame(1).game().isGameOver(), "Game being written should not be reloaded from storage");
+
+            blockedGames.release.countDown();
+            flushed.get(5, TimeUnit.SECONDS);
+        } finally {
+            blockedGames.release.countDown();
+            writer.shutdownNow();
+        }
+
+        assertTrue(blockedGames.getGame(1).game().isGameOver(), "Update should be stored once the batch finishes");
+        assertEquals(1, cache.size(), "Written game should be evictable again after the flush");
+    }
+}
@@ -0,0 +1,127 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private static class FakeConnection {
+        private boolean closed;
+        private boolean valid = true;
+
+        Connection asConnection() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "close" -> {
+                            closed = true;
+                            yield null;
+                        }
+                        case "isClosed" -> closed;
+                        case "isValid" -> valid;
+                        case "getAutoCommit" -> true;
+                        default -> null;
+                    });
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        pool = newPool(Duration.ofMinutes(30), Duration.ofMinutes(1));
+    }
+
+    private ConnectionPool newPool(Duration maxLifetime, Duration validationInterval) {
+        return new ConnectionPool(() -> {
+            FakeConnection connection = new FakeConnection();
+            opened.add(connection);
+            return connection.asConnection();
+        }, 2, maxLifetime, validationInterval, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Closed connections are reused")
+    void testReuse() throws SQLException {
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        assertEquals(1, opened.size(), "Second borrow should reuse the returned connection");
+        assertFalse(opened.get(0).closed, "Returned connection should stay open in the pool");
+        assertEquals(1, pool.metrics().idle(), "Returned connection should be idle");
+        assertEquals(2, pool.metrics().acquisitions(), "Both borrows should be counted");
+    }
+
+    @Test
+    @DisplayName("Borrowing waits for a free connection and times out")
+    void testAcquisitionTimeout() throws SQLException {
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        assertEquals(2, pool.metrics().active(), "Both connections should be active");
+        SQLException exception = assertThrows(SQLException.class, () -> pool.getConnection(),
+                "Borrowing from an exhausted pool should time out");
+        assertTrue(SQLDAOUtils.isConnectionIssue(exception), "Timeout should be reported as a connection issue");
+        assertEquals(1, pool.metrics().timeouts(), "Timeout should be counted");
+
+        first.close();
+        second.close();
+        assertEquals(0, pool.metrics().active(), "No connections should be active after returning them");
+    }
+
+    @Test
+    @DisplayName("A returned handle cannot be used again")
+    void testReturnedHandle() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.close();
+
+        assertTrue(connection.isClosed(), "Returned handle should report closed");
+        assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT 1"),
+                "Returned handle should reject further use");
+        assertEquals(1, pool.metrics().idle(), "Closing twice should return the connection once");
+    }
+
+    @Test
+    @DisplayName("Idle connections that fail validation are replaced")
+    void testValidation() throws SQLException {
+        pool = newPool(Duration.ofMinutes(30), Duration.ZERO);
+        pool.getConnection().close();
+        opened.get(0).valid = false;
+
+        pool.getConnection().close();
+
+        assertEquals(2, opened.size(), "Invalid connection should be replaced");
+        assertTrue(opened.get(0).closed, "Invalid connection should be closed");
+        assertEquals(1, pool.metrics().discarded(), "Invalid connection should be counted as discarded");
+    }
+
+    @Test
+    @DisplayName("Connections past their lifetime are replaced")
+    void testMaxLifetime() throws SQLException {
+        pool = newPool(Duration.ZERO, Duration.ofMinutes(1));
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        assertEquals(2, opened.size(), "Expired connection should not be reused");
+        assertTrue(opened.get(0).closed, "Expired connection should be closed");
+    }
+
+    @Test
+    @DisplayName("Closing the pool closes idle connections")
+    void testClose() throws SQLException {
+        pool.getConnection().close();
+
+        pool.close();
+
+        assertTrue(opened.get(0).closed, "Idle connection should be closed with the pool");
+        assertThrows(SQLException.class, () -> pool.getConnection(), "Closed pool should not hand out connections");
+    }
+}
@@ -0,0 +1,163 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import model.GameData;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryGameDAOTest {
+    private static final int THREADS = 8;
+
+    private MemoryGameDAO gameDAO;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        gameDAO = new MemoryGameDAO();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Concurrent creates of the same game allow exactly one")
+    void testConcurrentCreate() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        runConcurrently(i -> {
+            try {
+                gameDAO.createGame(new GameData(1, null, null, "Game" + i, new ChessGame()));
+                created.incrementAndGet();
+            } catch (DataAccessException e) {
+                // expected for all but one thread
+            }
+        });
+
+        assertEquals(1, created.get(), "Only one create should succeed");
+        assertEquals(1, gameDAO.getAllGames().size(), "Only one game should exist");
+    }
+
+    @Test
+    @DisplayName("Changing a game that was read does not change the stored game")
+    void testReadsAreCopies() throws Exception {
+        gameDAO.createGame(new GameData(1, null, null, "Game", new ChessGame()));
+
+        gameDAO.getGame(1).game().makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        gameDAO.getAllGames().get(0).game().setTeamTurn(ChessGame.TeamColor.BLACK);
+
+        assertEquals(new ChessGame(), gameDAO.getGame(1).game(), "Stored game should only change through an update");
+    }
+
+    @Test
+    @DisplayName("Concurrent updates and seat claims are all kept")
+    void testConcurrentUpdateAndClaimSeat() throws Exception {
+        gameDAO.createGame(new GameData(0, null, null, "Shared", new ChessGame()));
+        for (int id = 1; id <= THREADS; id++) {
+            gameDAO.createGame(new GameData(id, null, null, "0", new ChessGame()));
+        }
+        int updatesPerThread = 500;
+        AtomicInteger claimed = new AtomicInteger();
+
+        runConcurrently(i -> {
+            int id = i + 1;
+            for (int n = 1; n <= updatesPerThread; n++) {
+                ChessGame game = gameDAO.getGame(id).game();
+                game.setGameOver(n == updatesPerThread);
+                gameDAO.updateGame(new GameData(id, null, "Player" + i, Integer.toString(n), game));
+                if (n == updatesPerThread / 2 && gameDAO.claimSeat(0, ChessGame.TeamColor.WHITE, "Player" + i)) {
+                    claimed.incrementAndGet();
+                }
+            }
+        });
+
+        for (int id = 1; id <= THREADS; id++) {
+            GameData game = gameDAO.getGame(id);
+            assertEquals(Integer.toString(updatesPerThread), game.gameName(), "Last update should be kept");
+            assertEquals("Player" + (id - 1), game.blackUsername(), "Each game should hold its own thread's update");
+            assertTrue(game.game().isGameOver(), "Game state of the last update should be kept");
+        }
+        assertEquals(1, claimed.get(), "Only one player should get the shared white seat");
+        assertNotNull(gameDAO.getGame(0).whiteUsername(), "Shared white seat should be taken");
+    }
+
+    @Test
+    @DisplayName("Concurrent seat claims have exactly one winner")
+    void testConcurrentClaimSeat() throws Exception {
+        gameDAO.createGame(new GameData(1, null, null, "Game", new ChessGame()));
+        AtomicInteger claimed = new AtomicInteger();
+
+        runConcurrently(i -> {
+            if (gameDAO.claimSeat(1, ChessGame.TeamColor.WHITE, "Player" + i)) {
+                claimed.incrementAndGet();
+            }
+            gameDAO.claimSeat(1, ChessGame.TeamColor.BLACK, "Player" + i);
+        });
+
+        GameData game = gameDAO.getGame(1);
+        assertEquals(1, claimed.get(), "Only one player should get the white seat");
+        assertNotNull(game.whiteUsername(), "White seat should be taken");
+        assertNotNull(game.blackUsername(), "Black seat should be taken");
+        assertThrows(DataAccessException.class, () -> gameDAO.claimSeat(2, ChessGame.TeamColor.WHITE, "Player"),
+                "Claiming a seat in a missing game should fail");
+    }
+
+    @Test
+    @DisplayName("Game list is a consistent snapshot")
+    void testSnapshotDuringUpdates() throws Exception {
+        for (int id = 1; id <= 50; id++) {
+            gameDAO.createGame(new GameData(id, null, null, "Game", new ChessGame()));
+        }
+
+        runConcurrently(i -> {
+            try {
+                for (int n = 0; n < 200; n++) {
+                    if (i == 0) {
+                        List<GameData> games = gameDAO.getAllGames();
+                        assertEquals(50, games.size(), "Snapshot should contain every game");
+                    } else {
+                        int id = 1 + (n + i) % 50;
+                        gameDAO.updateGame(new GameData(id, "Player" + i, null, "Game", new ChessGame()));
+                    }
+                }
+            } catch (DataAccessException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private interface Task {
+        void run(int threadIndex) throws Exception;
+    }
+
+    private void runConcurrently(Task task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int threadIndex = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(threadIndex);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+}
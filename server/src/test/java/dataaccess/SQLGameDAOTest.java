@@ -2,8 +2,15 @@ package dataaccess;
 
 import model.GameData;
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import com.google.gson.Gson;
 import org.junit.jupiter.api.*;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -80,6 +87,60 @@ class SQLGameDAOTest {
         assertEquals("Game not found for update", exception.getMessage(), "Updating a non-existent game should throw an exception");
     }
 
+    @Test
+    @DisplayName("Successfully claim an empty seat only once")
+    void testClaimSeat() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(106, null, "BlackPlayer", "ClaimGame", new ChessGame()));
+
+        assertTrue(gameDAO.claimSeat(106, ChessGame.TeamColor.WHITE, "WhitePlayer"), "Empty seat should be claimable");
+        assertFalse(gameDAO.claimSeat(106, ChessGame.TeamColor.WHITE, "OtherPlayer"), "Taken seat should not be claimable");
+        assertFalse(gameDAO.claimSeat(106, ChessGame.TeamColor.BLACK, "OtherPlayer"), "Taken seat should not be claimable");
+
+        GameData game = gameDAO.getGame(106);
+        assertEquals("WhitePlayer", game.whiteUsername(), "First claim should be kept");
+        assertEquals("BlackPlayer", game.blackUsername(), "Other seat should be unchanged");
+    }
+
+    @Test
+    @DisplayName("Fail to claim a seat in a non-existent game")
+    void testClaimSeatNonExistentGame() {
+        assertThrows(DataAccessException.class, () -> gameDAO.claimSeat(9999, ChessGame.TeamColor.WHITE, "Player"),
+                "Claiming a seat in a non-existent game should throw an exception");
+    }
+
+    @Test
+    @DisplayName("Updating the game state keeps the seats")
+    void testUpdateGameState() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(107, null, "BlackPlayer", "StateGame", new ChessGame()));
+        ChessGame game = gameDAO.getGame(107).game();
+        gameDAO.claimSeat(107, ChessGame.TeamColor.WHITE, "WhitePlayer");
+
+        game.setGameOver(true);
+        gameDAO.updateGameState(107, game);
+
+        GameData stored = gameDAO.getGame(107);
+        assertTrue(stored.game().isGameOver(), "Game state should be updated");
+        assertEquals("WhitePlayer", stored.whiteUsername(), "Seat claimed after the read should be kept");
+        assertThrows(DataAccessException.class, () -> gameDAO.updateGameState(9999, game),
+                "Updating a non-existent game should throw an exception");
+    }
+
+    @Test
+    @DisplayName("Only the player in a seat can release it")
+    void testReleaseSeat() throws DataAccessException, DatabaseServiceException {
+        gameDAO.createGame(new GameData(108, "WhitePlayer", "BlackPlayer", "ReleaseGame", new ChessGame()));
+
+        assertFalse(gameDAO.releaseSeat(108, ChessGame.TeamColor.WHITE, "OtherPlayer"),
+                "Seat held by someone else should not be released");
+        assertTrue(gameDAO.releaseSeat(108, ChessGame.TeamColor.WHITE, "WhitePlayer"), "Own seat should be released");
+
+        GameData game = gameDAO.getGame(108);
+        assertNull(game.whiteUsername(), "Released seat should be empty");
+        assertEquals("BlackPlayer", game.blackUsername(), "Other seat should be unchanged");
+        assertThrows(DataAccessException.class, () -> gameDAO.releaseSeat(9999, ChessGame.TeamColor.WHITE, "Player"),
+                "Releasing a seat in a non-existent game should throw an exception");
+    }
+
     @Test
     @DisplayName("Successfully clear all games")
     void testClearGame() throws DataAccessException, DatabaseServiceException {
@@ -101,4 +162,44 @@ class SQLGameDAOTest {
         List<GameData> games = gameDAO.getAllGames();
         assertTrue(games.isEmpty(), "Clearing an empty game table should still return an empty list");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Game state survives storage")
+    void testGameStateRoundTrip() throws DataAccessException, DatabaseServiceException, InvalidMoveException {
+        ChessGame chessGame = new ChessGame();
+        chessGame.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        chessGame.setGameOver(true);
+        gameDAO.createGame(new GameData(400, "WhitePlayer", "BlackPlayer", "StoredGame", chessGame));
+
+        ChessGame retrieved = gameDAO.getGame(400).game();
+
+        assertEquals(chessGame, retrieved, "Stored board and turn should match");
+        assertEquals(ChessGame.TeamColor.BLACK, retrieved.getTeamTurn(), "Black should be to move");
+        assertTrue(retrieved.isGameOver(), "Game over flag should be stored");
+    }
+
+    @Test
+    @DisplayName("Legacy JSON game rows are migrated")
+    void testMigrateJsonRows() throws DataAccessException, DatabaseServiceException, SQLException {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setTeamTurn(ChessGame.TeamColor.BLACK);
+        String sql = "INSERT INTO games (game_id, white_username, black_username, game_name, game_state) VALUES (?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, 500);
+            stmt.setString(2, "WhitePlayer");
+            stmt.setString(3, null);
+            stmt.setString(4, "LegacyGame");
+            stmt.setString(5, new Gson().toJson(chessGame));
+            stmt.executeUpdate();
+        }
+
+        assertEquals(chessGame, gameDAO.getGame(500).game(), "Legacy JSON row should still be readable");
+
+        SQLGameDAO migratedDAO = new SQLGameDAO();
+        GameData migrated = migratedDAO.getGame(500);
+
+        assertEquals(chessGame, migrated.game(), "Migrated game state should match");
+        assertEquals("LegacyGame", migrated.gameName(), "Game name should be unchanged");
+    }
+}
@@ -0,0 +1,109 @@
+package websocket;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMailboxesTest {
+    private ExecutorService workers;
+    private GameMailboxes mailboxes;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newFixedThreadPool(4);
+        mailboxes = new GameMailboxes(workers);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        workers.shutdownNow();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Tasks for one game run one at a time in order")
+    void testSerialPerGame() throws InterruptedException {
+        int taskCount = 1000;
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            int index = i;
+            mailboxes.submit(1, () -> {
+                if (running.incrementAndGet() != 1) {
+                    overlapped.set(true);
+                }
+                order.add(index);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Every task should run");
+        assertFalse(overlapped.get(), "Tasks for the same game should never overlap");
+        for (int i = 0; i < taskCount; i++) {
+            assertEquals(i, order.get(i), "Tasks should run in submission order");
+        }
+    }
+
+    @Test
+    @DisplayName("A busy game does not block other games")
+    void testGamesRunInParallel() throws InterruptedException {
+        CountDownLatch otherGameRan = new CountDownLatch(1);
+        CountDownLatch firstGameDone = new CountDownLatch(1);
+
+        mailboxes.submit(1, () -> {
+            try {
+                if (otherGameRan.await(5, TimeUnit.SECONDS)) {
+                    firstGameDone.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        mailboxes.submit(2, otherGameRan::countDown);
+
+        assertTrue(firstGameDone.await(10, TimeUnit.SECONDS), "Second game should run while the first is busy");
+    }
+
+    @Test
+    @DisplayName("A failing task does not stop the game's later tasks")
+    void testFailureIsolation() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+
+        mailboxes.submit(1, () -> {
+            throw new IllegalStateException("boom");
+        });
+        mailboxes.submit(1, ran::countDown);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS), "Task after a failure should still run");
+    }
+
+    @Test
+    @DisplayName("Drained mailboxes are removed")
+    void testIdleMailboxesRemoved() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(10);
+        for (int game = 1; game <= 10; game++) {
+            mailboxes.submit(game, ran::countDown);
+        }
+        assertTrue(ran.await(5, TimeUnit.SECONDS), "Every task should run");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mailboxes.activeGames() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, mailboxes.activeGames(), "No mailbox should remain once every game is idle");
+    }
+}
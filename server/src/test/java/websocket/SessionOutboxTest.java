@@ -0,0 +1,148 @@
+package websocket;
+
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionOutboxTest {
+    private FakeConnection connection;
+
+    /**
+     * Holds writes until the test completes them, like a client that reads slowly
+     */
+    private static class FakeConnection implements SessionOutbox.Connection {
+        private final List<String> written = new ArrayList<>();
+        private final List<WriteCallback> pending = new ArrayList<>();
+        private boolean completeImmediately;
+        private int closeStatus;
+
+        @Override
+        public void send(String payload, WriteCallback callback) {
+            written.add(payload);
+            if (completeImmediately) {
+                callback.writeSuccess();
+            } else {
+                pending.add(callback);
+            }
+        }
+
+        @Override
+        public void send(ByteBuffer payload, WriteCallback callback) {
+            send(StandardCharsets.UTF_8.decode(payload).toString(), callback);
+        }
+
+        @Override
+        public void close(int statusCode, String reason) {
+            closeStatus = statusCode;
+        }
+
+        void completeNext() {
+            pending.remove(0).writeSuccess();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        connection = new FakeConnection();
+    }
+
+    @Test
+    @DisplayName("Messages are written one at a time in order")
+    void testOrderedWrites() {
+        SessionOutbox outbox = new SessionOutbox("test", connection, 8, SessionOutbox.Policy.DISCONNECT);
+
+        outbox.offer("first", false);
+        outbox.offer("second", false);
+        outbox.offer("third", false);
+
+        assertEquals(List.of("first"), connection.written, "Only one write should be in flight");
+        assertEquals(2, outbox.metrics().depth(), "The other messages should wait in the queue");
+
+        connection.completeNext();
+        connection.completeNext();
+        connection.completeNext();
+
+        assertEquals(List.of("first", "second", "third"), connection.written, "Messages should be written in order");
+        assertEquals(0, outbox.metrics().depth(), "Queue should be empty");
+        assertEquals(3, outbox.metrics().sent(), "Every message should be counted as sent");
+    }
+
+    @Test
+    @DisplayName("Text and binary messages share one queue")
+    void testBinaryFrames() {
+        SessionOutbox outbox = new SessionOutbox("test", connection, 8, SessionOutbox.Policy.DISCONNECT);
+
+        outbox.offer("text", false);
+        outbox.offer(ByteBuffer.wrap("binary".getBytes(StandardCharsets.UTF_8)), false);
+        connection.completeNext();
+        connection.completeNext();
+
+        assertEquals(List.of("text", "binary"), connection.written, "Both kinds of message should be written in order");
+    }
+
+    @Test
+    @DisplayName("A queued board update is replaced by a newer one")
+    void testDropStaleGameStates() {
+        SessionOutbox outbox = new SessionOutbox("test", connection, 8, SessionOutbox.Policy.DROP_STALE_GAME_STATES);
+
+        outbox.offer("board 1", true);
+        outbox.offer("board 2", true);
+        outbox.offer("notification", false);
+        outbox.offer("board 3", true);
+        connection.completeNext();
+        connection.completeNext();
+        connection.completeNext();
+
+        assertEquals(List.of("board 1", "notification", "board 3"), connection.written,
+                "Only the latest queued board update should be written");
+        assertEquals(1, outbox.metrics().dropped(), "Replaced board update should be counted");
+    }
+
+    @Test
+    @DisplayName("A client that does not keep up is disconnected")
+    void testDisconnectSlowConsumer() {
+        SessionOutbox outbox = new SessionOutbox("test", connection, 2, SessionOutbox.Policy.DISCONNECT);
+
+        assertTrue(outbox.offer("in flight", true), "First message should be accepted");
+        assertTrue(outbox.offer("queued 1", true), "Message within capacity should be accepted");
+        assertTrue(outbox.offer("queued 2", true), "Message within capacity should be accepted");
+        assertFalse(outbox.offer("overflow", true), "Message over capacity should be refused");
+
+        assertEquals(1008, connection.closeStatus, "Slow session should be closed as a policy violation");
+        assertFalse(outbox.offer("after close", false), "Closed outbox should refuse messages");
+        assertEquals(2, outbox.metrics().maxDepth(), "High-water mark should be recorded");
+    }
+
+    @Test
+    @DisplayName("Writes that complete immediately do not recurse")
+    void testImmediateCompletion() {
+        connection.completeImmediately = true;
+        SessionOutbox outbox = new SessionOutbox("test", connection, 100_000, SessionOutbox.Policy.DISCONNECT);
+
+        for (int i = 0; i < 50_000; i++) {
+            outbox.offer("message " + i, false);
+        }
+
+        assertEquals(50_000, connection.written.size(), "Every message should be written");
+        assertEquals(50_000, outbox.metrics().sent(), "Every message should be counted as sent");
+    }
+
+    @Test
+    @DisplayName("A failed write closes the outbox")
+    void testFailedWrite() {
+        SessionOutbox outbox = new SessionOutbox("test", connection, 8, SessionOutbox.Policy.DISCONNECT);
+        outbox.offer("first", false);
+        outbox.offer("second", false);
+
+        connection.pending.remove(0).writeFailed(new RuntimeException("connection reset"));
+
+        assertEquals(List.of("first"), connection.written, "Nothing should be written after a failure");
+        assertFalse(outbox.offer("third", false), "Outbox should refuse messages after a failure");
+    }
+}
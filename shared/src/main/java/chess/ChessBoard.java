@@ -1,20 +1,50 @@
 package chess;
 
+import chess.bitboards.Bitboards;
+import chess.bitboards.LeaperAttacks;
+import chess.bitboards.MagicAttacks;
+import chess.bitboards.Zobrist;
+
 import java.util.Arrays;
 
 /**
  * A chessboard that can hold and rearrange chess pieces.
  * <p>
+ * The board is backed by twelve piece bitboards (one per color and piece type)
+ * plus per-color and total occupancy masks. The {@code ChessPiece[][]} grid is
+ * kept alongside them as the compatibility view used by {@link #getPiece} and
+ * by serialization; the bitboards are rebuilt from it lazily after the board
+ * is deserialized. A Zobrist key of the piece placement is kept up to date
+ * the same way (see {@link #positionKey()}).
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
 public class ChessBoard {
 
     private ChessPiece [][] gameBoardGrid;
+    private transient long[] pieceBitboards = new long[Bitboards.PIECE_INDEX_COUNT];
+    private transient long[] colorOccupancy = new long[ChessGame.TeamColor.values().length];
+    private transient long occupied;
+    private transient long zobristKey;
+    private transient boolean bitboardsSynced;
+
     public ChessBoard() {
         gameBoardGrid = new ChessPiece[8][8];
     }
 
+    /**
+     * Creates an independent copy of another board. Pieces are immutable, so
+     * only the grid is copied; the bitboards and position key are rebuilt from
+     * it when first needed.
+     */
+    public ChessBoard(ChessBoard other) {
+        gameBoardGrid = new ChessPiece[8][];
+        for (int row = 0; row < 8; row++) {
+            gameBoardGrid[row] = other.gameBoardGrid[row].clone();
+        }
+    }
+
     /**
      * Adds a chess piece to the chessboard
      *
@@ -22,7 +52,19 @@ public class ChessBoard {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        gameBoardGrid[position.getRow() -1] [position.getColumn() -1] = piece;
+        addPiece(Bitboards.squareOf(position), piece);
+    }
+
+    /**
+     * Puts a piece on (or, with {@code null}, clears) a square given by index (0 = a1, 63 = h8)
+     */
+    public void addPiece(int square, ChessPiece piece) {
+        ensureBitboards();
+        clearSquare(square);
+        gameBoardGrid[square >>> 3][square & 7] = piece;
+        if (piece != null) {
+            setSquare(square, piece);
+        }
     }
 
     /**
@@ -36,6 +78,13 @@ public class ChessBoard {
         return gameBoardGrid[position.getRow() - 1][position.getColumn() - 1];
     }
 
+    /**
+     * Gets a chess piece on the chessboard by square index (0 = a1, 63 = h8)
+     */
+    public ChessPiece getPiece(int square) {
+        return gameBoardGrid[square >>> 3][square & 7];
+    }
+
     public ChessGame.TeamColor getColorOnSquare (ChessPosition positionToCheck) {
         ChessGame.TeamColor colorOnSquare = null;
         if (getPiece(positionToCheck) != null) {
@@ -43,6 +92,70 @@ public class ChessBoard {
         }
         return colorOnSquare;
     }
+
+    /**
+     * @return mask of the squares holding the given color and type of piece
+     */
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        ensureBitboards();
+        return pieceBitboards[Bitboards.pieceIndex(color, type)];
+    }
+
+    /**
+     * @return mask of the squares holding any piece of the given color
+     */
+    public long getOccupancy(ChessGame.TeamColor color) {
+        ensureBitboards();
+        return colorOccupancy[color.ordinal()];
+    }
+
+    /**
+     * @return mask of every occupied square
+     */
+    public long getOccupancy() {
+        ensureBitboards();
+        return occupied;
+    }
+
+    /**
+     * @return 64-bit Zobrist key of the piece placement, updated incrementally
+     * as pieces are added and removed. Equal boards always have equal keys.
+     */
+    public long positionKey() {
+        ensureBitboards();
+        return zobristKey;
+    }
+
+    /**
+     * Works backwards from the target square: a piece of the attacking color
+     * attacks it exactly when it stands on a square that the same kind of piece
+     * would attack from the target.
+     *
+     * @param square    square to test (0 = a1, 63 = h8)
+     * @param byColor   color of the attacking pieces
+     * @param occupancy occupancy to use for slider rays
+     * @return mask of the pieces of {@code byColor} attacking the square
+     */
+    public long attackersOf(int square, ChessGame.TeamColor byColor, long occupancy) {
+        ensureBitboards();
+        long rooksAndQueens = getPieces(byColor, ChessPiece.PieceType.ROOK) | getPieces(byColor, ChessPiece.PieceType.QUEEN);
+        long bishopsAndQueens = getPieces(byColor, ChessPiece.PieceType.BISHOP) | getPieces(byColor, ChessPiece.PieceType.QUEEN);
+
+        return (LeaperAttacks.knightAttacks(square) & getPieces(byColor, ChessPiece.PieceType.KNIGHT))
+                | (LeaperAttacks.kingAttacks(square) & getPieces(byColor, ChessPiece.PieceType.KING))
+                | (LeaperAttacks.pawnAttacks(byColor.opponent(), square) & getPieces(byColor, ChessPiece.PieceType.PAWN))
+                | (MagicAttacks.rookAttacks(square, occupancy) & rooksAndQueens)
+                | (MagicAttacks.bishopAttacks(square, occupancy) & bishopsAndQueens);
+    }
+
+    public long attackersOf(int square, ChessGame.TeamColor byColor) {
+        return attackersOf(square, byColor, getOccupancy());
+    }
+
+    public boolean isSquareAttacked(int square, ChessGame.TeamColor byColor) {
+        return attackersOf(square, byColor) != 0;
+    }
+
     /**
      * Sets the board to the default starting board
      * (How the game of chess normally starts)
@@ -51,8 +164,8 @@ public class ChessBoard {
         gameBoardGrid = new ChessPiece[8][8];
 
         for(int i = 0; i < 8; i ++){
-            gameBoardGrid[1][i] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
-            gameBoardGrid[6][i] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
+            gameBoardGrid[1][i] = ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+            gameBoardGrid[6][i] = ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
         }
 
         ChessPiece.PieceType [] placeOrder =  {ChessPiece.PieceType.ROOK, ChessPiece.PieceType.KNIGHT,
@@ -61,13 +174,63 @@ public class ChessBoard {
                 ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.ROOK};
 
         for(int i = 0; i < 8; i ++){
-            gameBoardGrid[0][i] = new ChessPiece(ChessGame.TeamColor.WHITE, placeOrder[i]);
-            gameBoardGrid[7][i] = new ChessPiece(ChessGame.TeamColor.BLACK, placeOrder[i]);
+            gameBoardGrid[0][i] = ChessPiece.of(ChessGame.TeamColor.WHITE, placeOrder[i]);
+            gameBoardGrid[7][i] = ChessPiece.of(ChessGame.TeamColor.BLACK, placeOrder[i]);
+        }
+
+        rebuildBitboards();
+    }
+
+    private void ensureBitboards() {
+        if (!bitboardsSynced) {
+            rebuildBitboards();
+        }
+    }
+
+    /*
+     * Gson fills in the grid without running addPiece, so the masks start out
+     * unsynced and are derived from the grid the first time they are needed.
+     */
+    private void rebuildBitboards() {
+        if (pieceBitboards == null) {
+            pieceBitboards = new long[Bitboards.PIECE_INDEX_COUNT];
+            colorOccupancy = new long[ChessGame.TeamColor.values().length];
         }
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(colorOccupancy, 0L);
+        occupied = 0L;
+        zobristKey = 0L;
 
+        for (int square = 0; square < Bitboards.SQUARE_COUNT; square++) {
+            ChessPiece piece = getPiece(square);
+            if (piece != null) {
+                setSquare(square, piece);
+            }
         }
+        bitboardsSynced = true;
+    }
 
+    private void setSquare(int square, ChessPiece piece) {
+        long bit = Bitboards.bit(square);
+        int pieceIndex = Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType());
+        pieceBitboards[pieceIndex] |= bit;
+        colorOccupancy[piece.getTeamColor().ordinal()] |= bit;
+        occupied |= bit;
+        zobristKey ^= Zobrist.pieceSquare(pieceIndex, square);
+    }
 
+    private void clearSquare(int square) {
+        ChessPiece existing = getPiece(square);
+        if (existing == null) {
+            return;
+        }
+        long bit = Bitboards.bit(square);
+        int pieceIndex = Bitboards.pieceIndex(existing.getTeamColor(), existing.getPieceType());
+        pieceBitboards[pieceIndex] &= ~bit;
+        colorOccupancy[existing.getTeamColor().ordinal()] &= ~bit;
+        occupied &= ~bit;
+        zobristKey ^= Zobrist.pieceSquare(pieceIndex, square);
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -78,11 +241,12 @@ public class ChessBoard {
             return false;
         }
         ChessBoard that = (ChessBoard) o;
-        return Arrays.deepEquals(gameBoardGrid, that.gameBoardGrid);
+        // different keys always mean different boards; equal keys still need the full compare
+        return positionKey() == that.positionKey() && Arrays.deepEquals(gameBoardGrid, that.gameBoardGrid);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(gameBoardGrid); //done
+        return Long.hashCode(positionKey());
     }
 }
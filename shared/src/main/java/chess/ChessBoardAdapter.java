@@ -0,0 +1,121 @@
+package chess;
+
+import chess.bitboards.Bitboards;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes a board as a 64-character string, one character per square from a1
+ * to h8: the FEN letter of the piece on it, or '.' for an empty square.
+ * <p>
+ * Boards written by reflection, an object holding the 8x8
+ * {@code gameBoardGrid} of pieces, are still read.
+ */
+class ChessBoardAdapter extends TypeAdapter<ChessBoard> {
+    private static final char EMPTY = '.';
+
+    @Override
+    public void write(JsonWriter out, ChessBoard board) throws IOException {
+        if (board == null) {
+            out.nullValue();
+            return;
+        }
+        char[] squares = new char[Bitboards.SQUARE_COUNT];
+        for (int square = 0; square < squares.length; square++) {
+            ChessPiece piece = board.getPiece(square);
+            squares[square] = piece == null ? EMPTY
+                    : Fen.PIECE_SYMBOLS.charAt(Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType()));
+        }
+        out.value(new String(squares));
+    }
+
+    @Override
+    public ChessBoard read(JsonReader in) throws IOException {
+        return switch (in.peek()) {
+            case NULL -> {
+                in.nextNull();
+                yield null;
+            }
+            case STRING -> readSquares(in.nextString());
+            default -> readGrid(in);
+        };
+    }
+
+    private static ChessBoard readSquares(String squares) {
+        if (squares.length() != Bitboards.SQUARE_COUNT) {
+            throw new JsonSyntaxException("Board has " + squares.length() + " squares, expected " + Bitboards.SQUARE_COUNT + ".");
+        }
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < squares.length(); square++) {
+            char symbol = squares.charAt(square);
+            if (symbol == EMPTY) {
+                continue;
+            }
+            int pieceIndex = Fen.PIECE_SYMBOLS.indexOf(symbol);
+            if (pieceIndex < 0) {
+                throw new JsonSyntaxException("Unknown piece '" + symbol + "' on the board.");
+            }
+            board.addPiece(square, ChessPiece.of(pieceIndex));
+        }
+        return board;
+    }
+
+    /*
+     * The reflective form: {"gameBoardGrid": [[piece or null, ...], ...]},
+     * with rows from 1 to 8 and each piece as {"teamColor", "pieceType"}.
+     */
+    private static ChessBoard readGrid(JsonReader in) throws IOException {
+        ChessBoard board = new ChessBoard();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!in.nextName().equals("gameBoardGrid")) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            for (int row = 0; in.hasNext(); row++) {
+                in.beginArray();
+                for (int col = 0; in.hasNext(); col++) {
+                    ChessPiece piece = readPiece(in);
+                    if (piece != null) {
+                        if (row >= 8 || col >= 8) {
+                            throw new JsonSyntaxException("Board grid is larger than 8x8.");
+                        }
+                        board.addPiece(row * 8 + col, piece);
+                    }
+                }
+                in.endArray();
+            }
+            in.endArray();
+        }
+        in.endObject();
+        return board;
+    }
+
+    private static ChessPiece readPiece(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ChessGame.TeamColor color = null;
+        ChessPiece.PieceType type = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "teamColor" -> color = ChessJson.enumValue(ChessGame.TeamColor.class, in.nextString());
+                case "pieceType" -> type = ChessJson.enumValue(ChessPiece.PieceType.class, in.nextString());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (color == null || type == null) {
+            throw new JsonSyntaxException("Piece is missing its color or type.");
+        }
+        return ChessPiece.of(color, type);
+    }
+}
@@ -1,5 +1,8 @@
 package chess;
 
+import chess.bitboards.Bitboards;
+import chess.bitboards.Zobrist;
+
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Objects;
@@ -15,6 +18,10 @@ public class ChessGame {
     private TeamColor activeTeamColor;
     private ChessBoard gameBoard;
     private boolean gameOver;
+    // castling and en passant are not played yet; kept so make/unmake and notation can carry them
+    private int castlingRights;
+    private int enPassantSquare = -1;
+    private transient UndoStack undoStack = new UndoStack();
 
     public ChessGame() {
         this.activeTeamColor = TeamColor.WHITE;
@@ -22,6 +29,27 @@ public class ChessGame {
         gameBoard.resetBoard();
     }
 
+    /**
+     * Creates a game on the given board, which is used as is rather than
+     * being set up for the start
+     */
+    ChessGame(ChessBoard board, TeamColor turn) {
+        this.activeTeamColor = turn;
+        this.gameBoard = board;
+    }
+
+    /**
+     * Creates an independent copy of another game's position. The copy starts
+     * with nothing to {@link #unmakeMove() take back}.
+     */
+    public ChessGame(ChessGame other) {
+        this.activeTeamColor = other.activeTeamColor;
+        this.gameBoard = new ChessBoard(other.gameBoard);
+        this.gameOver = other.gameOver;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+    }
+
     /**
      * @return Which team's turn it is
      */
@@ -38,6 +66,51 @@ public class ChessGame {
         activeTeamColor = team;
     }
 
+    /**
+     * Creates a game set up at the position described by a FEN record
+     *
+     * @throws IllegalArgumentException if the record is malformed
+     * @see Fen
+     */
+    public static ChessGame fromFen(String fen) {
+        return Fen.read(fen);
+    }
+
+    /**
+     * @return the position as a FEN record (placement, side to move, castling
+     * and en passant fields)
+     */
+    public String toFen() {
+        return Fen.write(this, new StringBuilder(90)).toString();
+    }
+
+    int getCastlingRights() {
+        return castlingRights;
+    }
+
+    void setCastlingRights(int castlingRights) {
+        this.castlingRights = castlingRights;
+    }
+
+    int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    void setEnPassantSquare(int enPassantSquare) {
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    /**
+     * @return 64-bit Zobrist key of the position: the board's incrementally
+     * maintained placement key combined with the side to move and the castling
+     * and en passant state. Suitable for repetition detection, caches and
+     * de-duplicating stored positions; equal positions always have equal keys.
+     */
+    public long positionKey() {
+        long key = gameBoard.positionKey() ^ Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare);
+        return activeTeamColor == TeamColor.BLACK ? key ^ Zobrist.blackToMove() : key;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -60,19 +133,85 @@ public class ChessGame {
      */
     public enum TeamColor {
         WHITE,
-        BLACK
+        BLACK;
+
+        /**
+         * @return the other team
+         */
+        public TeamColor opponent() {
+            return this == WHITE ? BLACK : WHITE;
+        }
+    }
+
+    /**
+     * Applies a move without checking that it is legal, recording everything
+     * needed to take it back with {@link #unmakeMove()}. The side to move flips.
+     * <p>
+     * Intended for validation, search and replay, which apply and revert many
+     * moves on the same board instead of copying it.
+     *
+     * @param move the move to apply; there must be a piece on its start position
+     */
+    public void makeMoveUnchecked(ChessMove move) {
+        makeMoveUnchecked(Bitboards.squareOf(move.getStartPosition()), Bitboards.squareOf(move.getEndPosition()),
+                move.getPromotionPiece());
+    }
+
+    /**
+     * Same as {@link #makeMoveUnchecked(ChessMove)} for a {@link PackedMove packed move}
+     */
+    public void makeMoveUnchecked(int packedMove) {
+        makeMoveUnchecked(PackedMove.from(packedMove), PackedMove.to(packedMove), PackedMove.promotion(packedMove));
+    }
+
+    void makeMoveUnchecked(int from, int to, ChessPiece.PieceType promotion) {
+        ChessPiece moved = gameBoard.getPiece(from);
+        ChessPiece captured = gameBoard.getPiece(to);
+        int capturedIndex = captured == null ? -1 : Bitboards.pieceIndex(captured.getTeamColor(), captured.getPieceType());
+
+        undoStack().push(UndoStack.encode(from, to, Bitboards.pieceIndex(moved.getTeamColor(), moved.getPieceType()),
+                capturedIndex, activeTeamColor, castlingRights, enPassantSquare));
+
+        ChessPiece placed = promotion == null ? moved : ChessPiece.of(moved.getTeamColor(), promotion);
+        gameBoard.addPiece(from, null);
+        gameBoard.addPiece(to, placed);
+        enPassantSquare = -1;
+        switchTurn();
+    }
+
+    /**
+     * Takes back the most recent move applied with {@link #makeMoveUnchecked}
+     * or {@link #makeMove}, restoring the captured piece, the moved piece (before
+     * promotion), the side to move and the castling/en passant state.
+     *
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void unmakeMove() {
+        long record = undoStack().pop();
+        int from = UndoStack.from(record);
+        int to = UndoStack.to(record);
+        int movedIndex = UndoStack.movedIndex(record);
+        int capturedIndex = UndoStack.capturedIndex(record);
+
+        gameBoard.addPiece(from, ChessPiece.of(movedIndex));
+        gameBoard.addPiece(to, capturedIndex < 0 ? null : ChessPiece.of(capturedIndex));
+        activeTeamColor = UndoStack.sideToMove(record);
+        castlingRights = UndoStack.castlingRights(record);
+        enPassantSquare = UndoStack.enPassantSquare(record);
     }
 
-    private void simulateMove(ChessPosition startPosition, ChessMove move) {
-        ChessPiece piece = gameBoard.getPiece(startPosition);
-        gameBoard.addPiece(startPosition, null);
-        gameBoard.addPiece(move.getEndPosition(), piece);
+    /**
+     * @return how many moves can currently be taken back with {@link #unmakeMove()}
+     */
+    public int getUndoDepth() {
+        return undoStack().size();
     }
 
-    private void undoMove(ChessPosition startPosistion, ChessMove move, ChessPiece capturedPiece) {
-        ChessPiece piece = gameBoard.getPiece(move.getEndPosition());
-        gameBoard.addPiece(move.getEndPosition(), capturedPiece);
-        gameBoard.addPiece(startPosistion, piece);
+    private UndoStack undoStack() {
+        if (undoStack == null) {
+            undoStack = new UndoStack();
+        }
+        return undoStack;
     }
 
     /**
@@ -88,25 +227,25 @@ public class ChessGame {
             return null;
         }
 
-        Collection<ChessMove> movesToTry = startPiece.pieceMoves(gameBoard, startPosition);
-        Collection<ChessMove> validMoves = new HashSet<>();
-
-        for (ChessMove move : movesToTry) {
-            ChessPiece tempPiece = gameBoard.getPiece(move.getEndPosition());
-            simulateMove(startPosition, move);
-
-            if (!isInCheck(startPiece.getTeamColor())) {
-                validMoves.add(move);
-            }
-
-            undoMove(startPosition, move, tempPiece);
-        }
+        MoveList moves = new MoveList();
+        new LegalMoveGenerator(gameBoard, startPiece.getTeamColor())
+                .addMoves(Bitboards.bit(Bitboards.squareOf(startPosition)), moves);
 
+        Collection<ChessMove> validMoves = new HashSet<>();
+        moves.addChessMovesTo(validMoves);
         return validMoves;
     }
 
+    /**
+     * Appends every legal move of the team whose turn it is to the buffer as
+     * {@link PackedMove packed moves}
+     */
+    public void addLegalMoves(MoveList moves) {
+        new LegalMoveGenerator(gameBoard, activeTeamColor).addMoves(moves);
+    }
+
     private void switchTurn() {
-        activeTeamColor = (activeTeamColor == TeamColor.WHITE) ? TeamColor.BLACK: TeamColor.WHITE;
+        activeTeamColor = activeTeamColor.opponent();
     }
 
     /**
@@ -116,62 +255,30 @@ public class ChessGame {
      * @throws InvalidMoveException if move is invalid
      */
     public void makeMove(ChessMove move) throws InvalidMoveException {
-        Collection<ChessMove> validMoves = validMoves(move.getStartPosition());
-
-        if (validMoves == null || !validMoves.contains(move) || (gameBoard.getColorOnSquare(move.getStartPosition()) != getTeamTurn())) {
+        ChessPiece pieceToMove = gameBoard.getPiece(move.getStartPosition());
+        if (pieceToMove == null || pieceToMove.getTeamColor() != getTeamTurn()) {
             throw new InvalidMoveException("Invalid move");
         }
 
-        ChessPiece pieceToMove = gameBoard.getPiece(move.getStartPosition());
-        if (move.getPromotionPiece() != null) {
-            pieceToMove = new ChessPiece(pieceToMove.getTeamColor(), move.getPromotionPiece());
+        int from = Bitboards.squareOf(move.getStartPosition());
+        int to = Bitboards.squareOf(move.getEndPosition());
+        long targets = new LegalMoveGenerator(gameBoard, pieceToMove.getTeamColor()).legalTargets(from);
+        if (!Bitboards.contains(targets, to) || !isValidPromotion(pieceToMove, to, move.getPromotionPiece())) {
+            throw new InvalidMoveException("Invalid move");
         }
 
-        gameBoard.addPiece(move.getStartPosition(), null);
-        gameBoard.addPiece(move.getEndPosition(), pieceToMove);
-        switchTurn();
+        makeMoveUnchecked(from, to, move.getPromotionPiece());
     }
 
-    private ChessPosition findKing(TeamColor teamColor) {
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition position = new ChessPosition(row, col);
-                ChessPiece piece = gameBoard.getPiece(position);
-                if (piece != null && piece.getTeamColor() == teamColor && piece.getPieceType() == ChessPiece.PieceType.KING) {
-                    return position;
-                }
-            }
+    private static boolean isValidPromotion(ChessPiece piece, int to, ChessPiece.PieceType promotion) {
+        if (piece.getPieceType() != ChessPiece.PieceType.PAWN || !LegalMoveGenerator.isPromotionSquare(to)) {
+            return promotion == null;
         }
-        throw new IllegalStateException("King not found on board.");
+        return promotion != null && promotion != ChessPiece.PieceType.PAWN && promotion != ChessPiece.PieceType.KING;
     }
 
     private boolean hasValidMoves(TeamColor teamColor) {
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition position = new ChessPosition(row, col);
-                ChessPiece piece = gameBoard.getPiece(position);
-
-                if (piece != null && piece.getTeamColor() == teamColor) {
-                    Collection<ChessMove> moves = validMoves(position);
-                    if (moves != null && !moves.isEmpty()) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean isThreateningKing(TeamColor teamColor, ChessPiece piece, ChessPosition piecePosition, ChessPosition kingPosition) {
-        if (piece == null || piece.getTeamColor() == teamColor) {
-            return false;
-        }
-        for (ChessMove move : piece.pieceMoves(gameBoard, piecePosition)) {
-            if (move.getEndPosition().equals(kingPosition)) {
-                return true;
-            }
-        }
-        return false;
+        return new LegalMoveGenerator(gameBoard, teamColor).hasLegalMove();
     }
 
     /**
@@ -181,19 +288,11 @@ public class ChessGame {
      * @return True if the specified team is in check
      */
     public boolean isInCheck(TeamColor teamColor) {
-        ChessPosition kingPosition = findKing(teamColor);
-
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition currentPosition = new ChessPosition(row, col);
-                ChessPiece currentPiece = gameBoard.getPiece(currentPosition);
-
-                if (isThreateningKing(teamColor, currentPiece, currentPosition, kingPosition)) {
-                    return true;
-                }
-            }
+        long king = gameBoard.getPieces(teamColor, ChessPiece.PieceType.KING);
+        if (king == 0) {
+            throw new IllegalStateException("King not found on board.");
         }
-        return false;
+        return gameBoard.isSquareAttacked(Bitboards.lowestSquare(king), teamColor.opponent());
     }
 
     /**
@@ -224,6 +323,7 @@ public class ChessGame {
      */
     public void setBoard(ChessBoard board) {
         this.gameBoard = board;
+        undoStack().clear();
     }
 
     /**
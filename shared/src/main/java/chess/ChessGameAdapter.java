@@ -0,0 +1,61 @@
+package chess;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes a game with the same field names reflection used, but with the board
+ * in the compact form of {@link ChessBoardAdapter}. Games in the reflective
+ * form are still read, and fields that are missing keep the values of a new
+ * game.
+ */
+class ChessGameAdapter extends TypeAdapter<ChessGame> {
+    private final ChessBoardAdapter boardAdapter = new ChessBoardAdapter();
+
+    @Override
+    public void write(JsonWriter out, ChessGame game) throws IOException {
+        if (game == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("activeTeamColor").value(game.getTeamTurn() == null ? null : game.getTeamTurn().name());
+        out.name("gameBoard");
+        boardAdapter.write(out, game.getBoard());
+        out.name("gameOver").value(game.isGameOver());
+        out.name("castlingRights").value(game.getCastlingRights());
+        out.name("enPassantSquare").value(game.getEnPassantSquare());
+        out.endObject();
+    }
+
+    @Override
+    public ChessGame read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ChessGame game = new ChessGame();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "activeTeamColor" -> game.setTeamTurn(ChessJson.enumValue(ChessGame.TeamColor.class, in.nextString()));
+                case "gameBoard" -> game.setBoard(boardAdapter.read(in));
+                case "gameOver" -> game.setGameOver(in.nextBoolean());
+                case "castlingRights" -> game.setCastlingRights(in.nextInt());
+                case "enPassantSquare" -> game.setEnPassantSquare(in.nextInt());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return game;
+    }
+}
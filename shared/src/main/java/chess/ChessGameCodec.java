@@ -0,0 +1,130 @@
+package chess;
+
+import chess.bitboards.Bitboards;
+
+/**
+ * Versioned binary form of a {@link ChessGame}, used where games are stored
+ * or sent often enough that JSON is too heavy.
+ * <p>
+ * Version 1 is always {@value #VERSION_1_LENGTH} bytes:
+ * <pre>
+ * byte  0      format version (1)
+ * byte  1      bit 0: black to move, bit 1: game over, bits 4-7: castling rights
+ * byte  2      en passant square + 1, or 0 for none
+ * bytes 3-34   board, one nibble per square from a1 to h8 (low nibble first);
+ *              a nibble is the piece index + 1, or 0 for an empty square
+ * </pre>
+ * The first byte never looks like the start of a JSON document, so readers can
+ * tell the two formats apart (see {@link #isEncoded}).
+ */
+public final class ChessGameCodec {
+    public static final byte VERSION_1 = 1;
+    public static final int VERSION_1_LENGTH = 3 + Bitboards.SQUARE_COUNT / 2;
+
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int GAME_OVER = 1 << 1;
+    private static final int CASTLING_SHIFT = 4;
+    private static final int BOARD_OFFSET = 3;
+
+    private ChessGameCodec() {
+    }
+
+    /**
+     * @return the game in the current format version
+     */
+    public static byte[] encode(ChessGame game) {
+        byte[] out = new byte[VERSION_1_LENGTH];
+        encode(game, out, 0);
+        return out;
+    }
+
+    /**
+     * Writes the game in the current format version into {@code out} starting
+     * at {@code offset}
+     *
+     * @return the number of bytes written
+     */
+    public static int encode(ChessGame game, byte[] out, int offset) {
+        int flags = game.getCastlingRights() << CASTLING_SHIFT;
+        if (game.getTeamTurn() == ChessGame.TeamColor.BLACK) {
+            flags |= BLACK_TO_MOVE;
+        }
+        if (game.isGameOver()) {
+            flags |= GAME_OVER;
+        }
+        out[offset] = VERSION_1;
+        out[offset + 1] = (byte) flags;
+        out[offset + 2] = (byte) (game.getEnPassantSquare() + 1);
+
+        ChessBoard board = game.getBoard();
+        for (int square = 0; square < Bitboards.SQUARE_COUNT; square += 2) {
+            out[offset + BOARD_OFFSET + square / 2] = (byte) (nibble(board.getPiece(square))
+                    | nibble(board.getPiece(square + 1)) << 4);
+        }
+        return VERSION_1_LENGTH;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a game in a known format version
+     */
+    public static ChessGame decode(byte[] data) {
+        return decode(data, 0, data.length);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a game in a known format version
+     */
+    public static ChessGame decode(byte[] data, int offset, int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Encoded game is empty.");
+        }
+        if (data[offset] != VERSION_1) {
+            throw new IllegalArgumentException("Unknown encoded game version " + data[offset] + ".");
+        }
+        if (length != VERSION_1_LENGTH) {
+            throw new IllegalArgumentException("Encoded game has " + length + " bytes, expected " + VERSION_1_LENGTH + ".");
+        }
+
+        int flags = data[offset + 1] & 0xFF;
+        int enPassant = (data[offset + 2] & 0xFF) - 1;
+        if (enPassant >= Bitboards.SQUARE_COUNT) {
+            throw new IllegalArgumentException("Encoded game has an invalid en passant square.");
+        }
+
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < Bitboards.SQUARE_COUNT; square += 2) {
+            int packed = data[offset + BOARD_OFFSET + square / 2] & 0xFF;
+            board.addPiece(square, piece(packed & 0xF));
+            board.addPiece(square + 1, piece(packed >>> 4));
+        }
+
+        ChessGame game = new ChessGame(board,
+                (flags & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        game.setGameOver((flags & GAME_OVER) != 0);
+        game.setCastlingRights(flags >>> CASTLING_SHIFT);
+        game.setEnPassantSquare(enPassant);
+        return game;
+    }
+
+    /**
+     * @return true if the data starts with a format version this codec writes,
+     * as opposed to e.g. a legacy JSON document
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data.length > 0 && data[0] == VERSION_1;
+    }
+
+    private static int nibble(ChessPiece piece) {
+        return piece == null ? 0 : Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType()) + 1;
+    }
+
+    private static ChessPiece piece(int nibble) {
+        if (nibble == 0) {
+            return null;
+        }
+        if (nibble > Bitboards.PIECE_INDEX_COUNT) {
+            throw new IllegalArgumentException("Encoded game has an invalid piece " + nibble + ".");
+        }
+        return ChessPiece.of(nibble - 1);
+    }
+}
@@ -0,0 +1,46 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * The one {@link Gson} the server and client serialize with. Games, boards
+ * and moves go through hand-written streaming adapters instead of
+ * reflection; a board is written as a 64-character string rather than a
+ * nested 8x8 array of pieces. JSON in the older reflective form is still read.
+ * <p>
+ * Gson instances are thread-safe, so the shared one can be used anywhere.
+ */
+public final class ChessJson {
+    private static final Gson GSON = builder().create();
+
+    private ChessJson() {
+    }
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * @return a builder with the chess adapters registered, for callers that need further settings
+     */
+    public static GsonBuilder builder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(ChessGame.class, new ChessGameAdapter())
+                .registerTypeAdapter(ChessBoard.class, new ChessBoardAdapter())
+                .registerTypeAdapter(ChessMove.class, new ChessMoveAdapter());
+    }
+
+    /**
+     * Like {@link Enum#valueOf}, but a name that is not a constant is reported
+     * as malformed JSON
+     */
+    static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException("Unknown " + type.getSimpleName() + " '" + name + "'.", e);
+        }
+    }
+}
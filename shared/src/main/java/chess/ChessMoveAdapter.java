@@ -0,0 +1,87 @@
+package chess;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads a move in the shape reflection gives it,
+ * {@code {"startPosition":{"row":2,"column":5},"endPosition":{...},"promotionPiece":"QUEEN"}},
+ * which clients that build moves with their own Gson rely on. Positions come
+ * from the shared {@link ChessPosition#of} table.
+ */
+class ChessMoveAdapter extends TypeAdapter<ChessMove> {
+
+    @Override
+    public void write(JsonWriter out, ChessMove move) throws IOException {
+        if (move == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("startPosition");
+        writePosition(out, move.getStartPosition());
+        out.name("endPosition");
+        writePosition(out, move.getEndPosition());
+        if (move.getPromotionPiece() != null) {
+            out.name("promotionPiece").value(move.getPromotionPiece().name());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public ChessMove read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ChessPosition start = null;
+        ChessPosition end = null;
+        ChessPiece.PieceType promotion = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "startPosition" -> start = readPosition(in);
+                case "endPosition" -> end = readPosition(in);
+                case "promotionPiece" -> promotion = ChessJson.enumValue(ChessPiece.PieceType.class, in.nextString());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return new ChessMove(start, end, promotion);
+    }
+
+    private static void writePosition(JsonWriter out, ChessPosition position) throws IOException {
+        if (position == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("row").value(position.getRow());
+        out.name("column").value(position.getColumn());
+        out.endObject();
+    }
+
+    private static ChessPosition readPosition(JsonReader in) throws IOException {
+        int row = 0;
+        int column = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "row" -> row = in.nextInt();
+                case "column" -> column = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return ChessPosition.of(row, column);
+    }
+}
@@ -1,6 +1,7 @@
 package chess;
 
-import chess.piececalculators.*;
+import chess.bitboards.Bitboards;
+import chess.piececalculators.PieceMoveCalculators;
 
 import java.util.Collection;
 import java.util.Objects;
@@ -12,14 +13,37 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessPiece {
-    private ChessGame.TeamColor teamColor;
-    private PieceType pieceType;
+    private static final ChessPiece[] CANONICAL = new ChessPiece[Bitboards.PIECE_INDEX_COUNT];
+
+    static {
+        for (int index = 0; index < CANONICAL.length; index++) {
+            CANONICAL[index] = new ChessPiece(Bitboards.colorOfIndex(index), Bitboards.typeOfIndex(index));
+        }
+    }
+
+    private final ChessGame.TeamColor teamColor;
+    private final PieceType pieceType;
 
     public ChessPiece(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type) {
         this.teamColor = pieceColor;
         this.pieceType = type;
     }
 
+    /**
+     * Returns the shared instance for a color and type. There are only twelve
+     * distinct pieces, so the engine never needs to allocate one.
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type) {
+        return CANONICAL[Bitboards.pieceIndex(pieceColor, type)];
+    }
+
+    /**
+     * @return the shared instance for a piece bitboard index (see {@link Bitboards#pieceIndex})
+     */
+    public static ChessPiece of(int pieceIndex) {
+        return CANONICAL[pieceIndex];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -34,7 +58,8 @@ public class ChessPiece {
 
     @Override
     public int hashCode() {
-        return Objects.hash(teamColor, pieceType);
+        // same value as Objects.hash(teamColor, pieceType) without the varargs array
+        return 31 * (31 + Objects.hashCode(teamColor)) + Objects.hashCode(pieceType);
     }
 
     /**
@@ -71,14 +96,19 @@ public class ChessPiece {
      * @return Collection of valid moves
      */
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        return switch (pieceType) {
-            case KING -> new KingCalculator().getMoves(board, myPosition);
-            case QUEEN -> new QueenCalculator().getMoves(board, myPosition);
-            case BISHOP -> new BishopCalculator().getMoves(board, myPosition);
-            case ROOK -> new RookCalculator().getMoves(board, myPosition);
-            case KNIGHT -> new KnightCalculator().getMoves(board, myPosition);
-            case PAWN -> new PawnCalculator().getMoves(board, myPosition);
-            case null, default -> null;
-        };
+        if (pieceType == null) {
+            return null;
+        }
+        return PieceMoveCalculators.forType(pieceType).getMoves(board, myPosition);
+    }
+
+    /**
+     * Same as {@link #pieceMoves(ChessBoard, ChessPosition)} but appends
+     * {@link PackedMove packed moves} to a reusable buffer instead of allocating
+     *
+     * @param square index of this piece's square (0 = a1, 63 = h8)
+     */
+    public void pieceMoves(ChessBoard board, int square, MoveList moves) {
+        PieceMoveCalculators.forType(pieceType).getMoves(board, square, moves);
     }
 }
@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.Objects;
-
 /**
  * Represents a single square position on a chess board
  * <p>
@@ -9,13 +7,43 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessPosition {
-    private int row;
-    private int column;
+    private static final ChessPosition[] BOARD_POSITIONS = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < BOARD_POSITIONS.length; square++) {
+            BOARD_POSITIONS[square] = new ChessPosition(square / 8 + 1, square % 8 + 1);
+        }
+    }
+
+    private final int row;
+    private final int column;
     public ChessPosition(int row, int col) {
         this.row = row;
         this.column = col;
     }
 
+    /**
+     * Returns the shared instance for an on-board square, so hot paths do not
+     * allocate a new position per probe. Off-board coordinates get a fresh instance.
+     *
+     * @param row 1 codes for the bottom row
+     * @param col 1 codes for the left column
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return BOARD_POSITIONS[(row - 1) * 8 + (col - 1)];
+    }
+
+    /**
+     * @param square square index (0 = a1, 63 = h8)
+     * @return the shared instance for that square
+     */
+    public static ChessPosition ofSquare(int square) {
+        return BOARD_POSITIONS[square];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
@@ -46,6 +74,7 @@ public class ChessPosition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, column);
+        // same value as Objects.hash(row, column) without the varargs array
+        return 31 * (31 + row) + column;
     }
 }
@@ -0,0 +1,256 @@
+package chess;
+
+import chess.bitboards.Bitboards;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, e.g. the start
+ * position {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}.
+ * <p>
+ * Records are scanned one character at a time straight onto the board, with
+ * no splitting or intermediate strings. The placement, side to move, castling
+ * and en passant fields are read and written; the halfmove clock and fullmove
+ * number are not tracked by {@link ChessGame}, so they are accepted when
+ * present but not written.
+ */
+public final class Fen {
+    // castling is not played, so a new game has no castling rights
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - -";
+
+    // indexed by Bitboards.pieceIndex
+    static final String PIECE_SYMBOLS = "KQBNRPkqbnrp";
+    // bit i of the castling rights is written as the i-th symbol
+    private static final String CASTLING_SYMBOLS = "KQkq";
+
+    private Fen() {
+    }
+
+    /**
+     * Replaces the game's position with the one described by the record
+     *
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public static void read(CharSequence fen, ChessGame game) {
+        ChessGame parsed = read(fen);
+        game.setBoard(parsed.getBoard());
+        game.setTeamTurn(parsed.getTeamTurn());
+        game.setCastlingRights(parsed.getCastlingRights());
+        game.setEnPassantSquare(parsed.getEnPassantSquare());
+    }
+
+    /**
+     * @return a new game set up at the position described by the record
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    static ChessGame read(CharSequence fen) {
+        Reader reader = new Reader(fen);
+        ChessBoard board = new ChessBoard();
+        reader.readPlacement(board);
+        reader.expectSpace();
+        ChessGame.TeamColor turn = reader.readSideToMove();
+
+        int castling = 0;
+        int enPassant = -1;
+        if (reader.skipSpace()) {
+            castling = reader.readCastling();
+            if (reader.skipSpace()) {
+                enPassant = reader.readEnPassant();
+                // halfmove clock and fullmove number are optional and ignored
+                for (int i = 0; i < 2 && reader.skipSpace(); i++) {
+                    reader.readNumber();
+                }
+            }
+        }
+        reader.expectEnd();
+
+        ChessGame game = new ChessGame(board, turn);
+        game.setCastlingRights(castling);
+        game.setEnPassantSquare(enPassant);
+        return game;
+    }
+
+    /**
+     * Appends the game's position as a four-field record
+     */
+    public static StringBuilder write(ChessGame game, StringBuilder out) {
+        ChessBoard board = game.getBoard();
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = board.getPiece(Bitboards.squareOf(row, col));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    out.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                out.append(PIECE_SYMBOLS.charAt(Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType())));
+            }
+            if (empty > 0) {
+                out.append((char) ('0' + empty));
+            }
+            if (row > 1) {
+                out.append('/');
+            }
+        }
+
+        out.append(' ').append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? 'w' : 'b').append(' ');
+
+        int castling = game.getCastlingRights();
+        if (castling == 0) {
+            out.append('-');
+        }
+        for (int i = 0; i < CASTLING_SYMBOLS.length(); i++) {
+            if ((castling & (1 << i)) != 0) {
+                out.append(CASTLING_SYMBOLS.charAt(i));
+            }
+        }
+
+        out.append(' ');
+        int enPassant = game.getEnPassantSquare();
+        if (enPassant < 0) {
+            out.append('-');
+        } else {
+            out.append((char) ('a' + Bitboards.columnOf(enPassant) - 1)).append(Bitboards.rowOf(enPassant));
+        }
+        return out;
+    }
+
+    private static final class Reader {
+        private final CharSequence text;
+        private int index;
+
+        Reader(CharSequence text) {
+            this.text = text;
+        }
+
+        void readPlacement(ChessBoard board) {
+            int row = 8;
+            int col = 1;
+            while (true) {
+                char symbol = next("piece placement");
+                if (symbol >= '1' && symbol <= '8') {
+                    col += symbol - '0';
+                } else if (symbol == '/') {
+                    if (col != 9 || row == 1) {
+                        throw error("rank " + row + " does not cover eight squares");
+                    }
+                    row--;
+                    col = 1;
+                    continue;
+                } else {
+                    int pieceIndex = PIECE_SYMBOLS.indexOf(symbol);
+                    if (pieceIndex < 0) {
+                        throw error("unexpected '" + symbol + "' in piece placement");
+                    }
+                    if (col > 8) {
+                        throw error("rank " + row + " has more than eight squares");
+                    }
+                    board.addPiece(Bitboards.squareOf(row, col), ChessPiece.of(pieceIndex));
+                    col++;
+                }
+                if (col > 9) {
+                    throw error("rank " + row + " has more than eight squares");
+                }
+                if (row == 1 && col == 9) {
+                    return;
+                }
+            }
+        }
+
+        ChessGame.TeamColor readSideToMove() {
+            return switch (next("side to move")) {
+                case 'w' -> ChessGame.TeamColor.WHITE;
+                case 'b' -> ChessGame.TeamColor.BLACK;
+                default -> throw error("side to move must be 'w' or 'b'");
+            };
+        }
+
+        int readCastling() {
+            int rights = 0;
+            if (peek() == '-') {
+                index++;
+            } else {
+                while (index < text.length() && text.charAt(index) != ' ') {
+                    char symbol = text.charAt(index++);
+                    int bit = CASTLING_SYMBOLS.indexOf(symbol);
+                    if (bit < 0) {
+                        throw error("unexpected '" + symbol + "' in castling rights");
+                    }
+                    if ((rights & 1 << bit) != 0) {
+                        throw error("castling right '" + symbol + "' is repeated");
+                    }
+                    if (rights >>> bit != 0) {
+                        throw error("castling rights must be listed in KQkq order");
+                    }
+                    rights |= 1 << bit;
+                }
+            }
+            if (index < text.length() && text.charAt(index) != ' ') {
+                throw error("castling rights must be followed by a space");
+            }
+            return rights;
+        }
+
+        int readEnPassant() {
+            char file = next("en passant square");
+            if (file == '-') {
+                return -1;
+            }
+            char rank = next("en passant square");
+            if (file < 'a' || file > 'h' || (rank != '3' && rank != '6')) {
+                throw error("invalid en passant square");
+            }
+            return Bitboards.squareOf(rank - '0', file - 'a' + 1);
+        }
+
+        void readNumber() {
+            int start = index;
+            while (index < text.length() && Character.isDigit(text.charAt(index))) {
+                index++;
+            }
+            if (index == start) {
+                throw error("expected a move number");
+            }
+        }
+
+        void expectSpace() {
+            if (!skipSpace()) {
+                throw error("expected a space");
+            }
+        }
+
+        boolean skipSpace() {
+            if (index < text.length() && text.charAt(index) == ' ') {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        void expectEnd() {
+            if (index != text.length()) {
+                throw error("unexpected trailing characters");
+            }
+        }
+
+        private char peek() {
+            if (index >= text.length()) {
+                throw error("record ends early");
+            }
+            return text.charAt(index);
+        }
+
+        private char next(String field) {
+            if (index >= text.length()) {
+                throw error("record ends in the " + field);
+            }
+            return text.charAt(index++);
+        }
+
+        private IllegalArgumentException error(String problem) {
+            return new IllegalArgumentException("Invalid FEN at index " + index + ": " + problem);
+        }
+    }
+}
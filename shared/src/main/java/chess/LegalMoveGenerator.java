@@ -0,0 +1,231 @@
+package chess;
+
+import chess.bitboards.Bitboards;
+import chess.bitboards.LeaperAttacks;
+import chess.bitboards.Lines;
+import chess.bitboards.MagicAttacks;
+
+import java.util.Collection;
+
+/**
+ * Generates only legal moves for one side of a position.
+ * <p>
+ * Checkers and pinned pieces are worked out once when the generator is
+ * created. Every non-king move is then restricted to the squares that block
+ * or capture a single checker, and a pinned piece may only move along the line
+ * through its king. King moves are kept when the destination is not attacked
+ * with the king itself lifted off the board. No move is ever played on the
+ * board to find out whether it is legal.
+ * <p>
+ * A generator describes the board as it was when it was created or last
+ * {@link #reset reset}; reset it after the board changes. Reusing one generator
+ * keeps move generation free of allocation.
+ */
+public final class LegalMoveGenerator {
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {ChessPiece.PieceType.QUEEN,
+            ChessPiece.PieceType.ROOK, ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT};
+
+    private ChessBoard board;
+    private ChessGame.TeamColor color;
+    private ChessGame.TeamColor enemy;
+    private long ownPieces;
+    private long enemyPieces;
+    private long occupied;
+    private int kingSquare;
+    private long checkers;
+    private long checkMask;
+    private long pinned;
+
+    public LegalMoveGenerator() {
+    }
+
+    public LegalMoveGenerator(ChessBoard board, ChessGame.TeamColor color) {
+        reset(board, color);
+    }
+
+    /**
+     * Recomputes checkers and pins for the given side of the board
+     *
+     * @return this generator
+     */
+    public LegalMoveGenerator reset(ChessBoard board, ChessGame.TeamColor color) {
+        this.board = board;
+        this.color = color;
+        this.enemy = color.opponent();
+        this.ownPieces = board.getOccupancy(color);
+        this.enemyPieces = board.getOccupancy(enemy);
+        this.occupied = board.getOccupancy();
+
+        long king = board.getPieces(color, ChessPiece.PieceType.KING);
+        if (king == 0) {
+            // boards without a king (e.g. piece tests) have no checks or pins to respect
+            kingSquare = -1;
+            checkers = Bitboards.EMPTY;
+            checkMask = ~Bitboards.EMPTY;
+            pinned = Bitboards.EMPTY;
+            return this;
+        }
+
+        kingSquare = Bitboards.lowestSquare(king);
+        checkers = board.attackersOf(kingSquare, enemy);
+        if (checkers == 0) {
+            checkMask = ~Bitboards.EMPTY;
+        } else if (Bitboards.withoutLowestSquare(checkers) == 0) {
+            checkMask = checkers | Lines.between(kingSquare, Bitboards.lowestSquare(checkers));
+        } else {
+            // double check: only the king can move
+            checkMask = Bitboards.EMPTY;
+        }
+        pinned = findPinned();
+        return this;
+    }
+
+    /**
+     * @return true if the side has at least one legal move
+     */
+    public boolean hasLegalMove() {
+        for (long pieces = ownPieces; pieces != 0; pieces = Bitboards.withoutLowestSquare(pieces)) {
+            if (legalTargets(Bitboards.lowestSquare(pieces)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the side's king is attacked
+     */
+    public boolean isInCheck() {
+        return checkers != 0;
+    }
+
+    /**
+     * Appends the legal moves of every piece of the side standing on a square in
+     * {@code fromMask} as {@link PackedMove packed moves}, expanding pawn moves to
+     * the last row into the four promotions.
+     */
+    public void addMoves(long fromMask, MoveList moves) {
+        for (long pieces = ownPieces & fromMask; pieces != 0; pieces = Bitboards.withoutLowestSquare(pieces)) {
+            int from = Bitboards.lowestSquare(pieces);
+            boolean promotes = board.getPiece(from).getPieceType() == ChessPiece.PieceType.PAWN;
+
+            for (long targets = legalTargets(from); targets != 0; targets = Bitboards.withoutLowestSquare(targets)) {
+                int to = Bitboards.lowestSquare(targets);
+                if (promotes && isPromotionSquare(to)) {
+                    for (ChessPiece.PieceType type : PROMOTION_TYPES) {
+                        moves.add(PackedMove.encode(from, to, type));
+                    }
+                } else {
+                    moves.add(PackedMove.encode(from, to));
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends every legal move of the side as a packed move
+     */
+    public void addMoves(MoveList moves) {
+        addMoves(~Bitboards.EMPTY, moves);
+    }
+
+    /**
+     * Same as {@link #addMoves(long, MoveList)} but materializes {@link ChessMove}s
+     */
+    public void addMoves(long fromMask, Collection<ChessMove> moves) {
+        MoveList packed = new MoveList();
+        addMoves(fromMask, packed);
+        packed.addChessMovesTo(moves);
+    }
+
+    /**
+     * @return mask of the squares the side's piece on {@code from} may legally move to,
+     * or an empty mask if no piece of the side is there
+     */
+    public long legalTargets(int from) {
+        if (!Bitboards.contains(ownPieces, from)) {
+            return Bitboards.EMPTY;
+        }
+        if (from == kingSquare) {
+            return kingTargets();
+        }
+
+        long targets = pseudoTargets(from, board.getPiece(from).getPieceType()) & checkMask;
+        if (Bitboards.contains(pinned, from)) {
+            targets &= Lines.line(kingSquare, from);
+        }
+        return targets;
+    }
+
+    /**
+     * @return true if a pawn arriving on the square promotes
+     */
+    public static boolean isPromotionSquare(int square) {
+        int row = Bitboards.rowOf(square);
+        return row == 1 || row == 8;
+    }
+
+    private long kingTargets() {
+        long withoutKing = occupied & ~Bitboards.bit(kingSquare);
+        long targets = Bitboards.EMPTY;
+        for (long candidates = LeaperAttacks.kingAttacks(kingSquare) & ~ownPieces; candidates != 0;
+             candidates = Bitboards.withoutLowestSquare(candidates)) {
+            int to = Bitboards.lowestSquare(candidates);
+            if (board.attackersOf(to, enemy, withoutKing) == 0) {
+                targets |= Bitboards.bit(to);
+            }
+        }
+        return targets;
+    }
+
+    private long pseudoTargets(int from, ChessPiece.PieceType type) {
+        return switch (type) {
+            case PAWN -> pawnTargets(from);
+            case KNIGHT -> LeaperAttacks.knightAttacks(from) & ~ownPieces;
+            case BISHOP -> MagicAttacks.bishopAttacks(from, occupied) & ~ownPieces;
+            case ROOK -> MagicAttacks.rookAttacks(from, occupied) & ~ownPieces;
+            case QUEEN -> MagicAttacks.queenAttacks(from, occupied) & ~ownPieces;
+            case KING -> LeaperAttacks.kingAttacks(from) & ~ownPieces;
+        };
+    }
+
+    private long pawnTargets(int from) {
+        long targets = LeaperAttacks.pawnAttacks(color, from) & enemyPieces;
+
+        int step = color == ChessGame.TeamColor.WHITE ? 8 : -8;
+        int oneStep = from + step;
+        if (oneStep < 0 || oneStep >= Bitboards.SQUARE_COUNT || Bitboards.contains(occupied, oneStep)) {
+            return targets;
+        }
+        targets |= Bitboards.bit(oneStep);
+
+        int startRow = color == ChessGame.TeamColor.WHITE ? 2 : 7;
+        int twoStep = oneStep + step;
+        if (Bitboards.rowOf(from) == startRow && !Bitboards.contains(occupied, twoStep)) {
+            targets |= Bitboards.bit(twoStep);
+        }
+        return targets;
+    }
+
+    /*
+     * A piece is pinned when it is the only piece between its king and an enemy
+     * slider that would otherwise attack the king along that line.
+     */
+    private long findPinned() {
+        long rooksAndQueens = board.getPieces(enemy, ChessPiece.PieceType.ROOK)
+                | board.getPieces(enemy, ChessPiece.PieceType.QUEEN);
+        long bishopsAndQueens = board.getPieces(enemy, ChessPiece.PieceType.BISHOP)
+                | board.getPieces(enemy, ChessPiece.PieceType.QUEEN);
+        long snipers = (MagicAttacks.rookAttacks(kingSquare, Bitboards.EMPTY) & rooksAndQueens)
+                | (MagicAttacks.bishopAttacks(kingSquare, Bitboards.EMPTY) & bishopsAndQueens);
+
+        long result = Bitboards.EMPTY;
+        for (; snipers != 0; snipers = Bitboards.withoutLowestSquare(snipers)) {
+            long blockers = Lines.between(kingSquare, Bitboards.lowestSquare(snipers)) & occupied;
+            if (blockers != 0 && Bitboards.withoutLowestSquare(blockers) == 0) {
+                result |= blockers & ownPieces;
+            }
+        }
+        return result;
+    }
+}
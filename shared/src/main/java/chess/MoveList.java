@@ -0,0 +1,65 @@
+package chess;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Reusable buffer of {@link PackedMove packed moves}. Call {@link #clear()}
+ * to reuse it for the next position instead of allocating a new list.
+ */
+public final class MoveList {
+    // more than the legal move count of any reachable chess position
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        moves = new int[capacity];
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Materializes every move as a {@link ChessMove} into the given collection
+     */
+    public void addChessMovesTo(Collection<ChessMove> result) {
+        for (int i = 0; i < size; i++) {
+            result.add(PackedMove.toChessMove(moves[i]));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package chess;
+
+import chess.bitboards.Bitboards;
+
+/**
+ * Encodes a move as a 16-bit {@code int} so move generation can work without
+ * allocating {@link ChessMove} objects:
+ * <pre>
+ * bits  0-5   from square (0 = a1, 63 = h8)
+ * bits  6-11  to square
+ * bits 12-14  promotion piece type ordinal + 1, or 0 for no promotion
+ * </pre>
+ */
+public final class PackedMove {
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+
+    private PackedMove() {
+    }
+
+    public static int encode(int from, int to) {
+        return from | (to << TO_SHIFT);
+    }
+
+    public static int encode(int from, int to, ChessPiece.PieceType promotion) {
+        int promotionCode = promotion == null ? 0 : promotion.ordinal() + 1;
+        return from | (to << TO_SHIFT) | (promotionCode << PROMOTION_SHIFT);
+    }
+
+    public static int encode(ChessMove move) {
+        return encode(Bitboards.squareOf(move.getStartPosition()), Bitboards.squareOf(move.getEndPosition()),
+                move.getPromotionPiece());
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * @return whether a 16-bit value from outside, e.g. off the network, is a
+     * move these methods can decode
+     */
+    public static boolean isValid(int move) {
+        return move >= 0 && (move >>> PROMOTION_SHIFT) <= TYPES.length;
+    }
+
+    /**
+     * @return the promotion piece type, or null if the move is not a promotion
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int promotionCode = move >>> PROMOTION_SHIFT;
+        return promotionCode == 0 ? null : TYPES[promotionCode - 1];
+    }
+
+    public static ChessMove toChessMove(int move) {
+        return new ChessMove(ChessPosition.ofSquare(from(move)), ChessPosition.ofSquare(to(move)), promotion(move));
+    }
+}
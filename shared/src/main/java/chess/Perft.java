@@ -0,0 +1,269 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft ("performance test"): counts the leaf nodes of the legal move tree
+ * below a position to a fixed depth. The counts for well known positions are
+ * published, so a mismatch points straight at a move generation bug, and the
+ * time taken gives a nodes-per-second figure for the engine.
+ * <p>
+ * Moves are generated with {@link LegalMoveGenerator} and played with
+ * {@link ChessGame#makeMoveUnchecked(int)} / {@link ChessGame#unmakeMove()} on
+ * the game passed in, which is back in its original position when a count
+ * returns. With bulk counting the last ply is not played at all: the number of
+ * legal moves is the number of leaves.
+ * <p>
+ * {@link LegalMoveGenerator} works from the attack tables and does not go
+ * through {@link ChessPiece#pieceMoves}, so {@link #countWithPieceMoves(int)}
+ * counts the same tree from the per-piece calculators instead, keeping only
+ * moves that do not leave the mover in check. The two counts must agree.
+ * <p>
+ * A {@code Perft} is not thread safe. The parallel variants give every root
+ * move its own copy of the game.
+ */
+public final class Perft {
+    private final ChessGame game;
+    private final boolean bulkCounting;
+    private final LegalMoveGenerator generator = new LegalMoveGenerator();
+    private MoveList[] buffers = new MoveList[0];
+
+    public Perft(ChessGame game) {
+        this(game, true);
+    }
+
+    public Perft(ChessGame game, boolean bulkCounting) {
+        this.game = game;
+        this.bulkCounting = bulkCounting;
+    }
+
+    /**
+     * @return the number of leaf nodes {@code depth} plies below the game's position
+     */
+    public long count(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative.");
+        }
+        if (buffers.length < depth) {
+            buffers = new MoveList[depth];
+            for (int i = 0; i < depth; i++) {
+                buffers[i] = new MoveList();
+            }
+        }
+        return search(depth);
+    }
+
+    /**
+     * Same as {@link #count(int)}, but with the moves at every node taken from
+     * {@link ChessPiece#pieceMoves} and filtered for legality by playing them
+     * and asking {@link ChessGame#isInCheck}. Much slower; meant for checking
+     * the calculators against the legal generator.
+     */
+    public long countWithPieceMoves(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative.");
+        }
+        if (depth == 0) {
+            return 1;
+        }
+        ChessGame.TeamColor mover = game.getTeamTurn();
+        ChessBoard board = game.getBoard();
+        List<ChessMove> pseudoLegal = new ArrayList<>();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = board.getPiece(square);
+            if (piece != null && piece.getTeamColor() == mover) {
+                pseudoLegal.addAll(piece.pieceMoves(board, ChessPosition.ofSquare(square)));
+            }
+        }
+
+        long nodes = 0;
+        for (ChessMove move : pseudoLegal) {
+            game.makeMoveUnchecked(move);
+            if (!game.isInCheck(mover)) {
+                nodes += countWithPieceMoves(depth - 1);
+            }
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaves below each root move separately, which narrows a wrong
+     * total down to the move whose subtree is off
+     *
+     * @return leaf count per root move, in generation order
+     */
+    public Map<ChessMove, Long> divide(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1.");
+        }
+        Map<ChessMove, Long> result = new LinkedHashMap<>();
+        for (int move : rootMoves(game)) {
+            game.makeMoveUnchecked(move);
+            result.put(PackedMove.toChessMove(move), count(depth - 1));
+            game.unmakeMove();
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #count(int)}, with the subtree of every root move counted
+     * as a separate task on the given pool
+     */
+    public static long countParallel(ChessGame game, int depth, boolean bulkCounting, ForkJoinPool pool) {
+        if (depth < 1) {
+            return new Perft(game, bulkCounting).count(depth);
+        }
+        long total = 0;
+        for (long nodes : divideParallel(game, depth, bulkCounting, pool).values()) {
+            total += nodes;
+        }
+        return total;
+    }
+
+    /**
+     * Same as {@link #divide(int)}, with the subtree of every root move counted
+     * as a separate task on the given pool. The game passed in is not modified.
+     */
+    public static Map<ChessMove, Long> divideParallel(ChessGame game, int depth, boolean bulkCounting,
+                                                      ForkJoinPool pool) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1.");
+        }
+        List<SubtreeTask> tasks = new ArrayList<>();
+        for (int move : rootMoves(game)) {
+            tasks.add(new SubtreeTask(game, move, depth - 1, bulkCounting));
+        }
+        return pool.invoke(new RecursiveTask<>() {
+            @Override
+            protected Map<ChessMove, Long> compute() {
+                invokeAll(tasks);
+                Map<ChessMove, Long> result = new LinkedHashMap<>();
+                for (SubtreeTask task : tasks) {
+                    result.put(PackedMove.toChessMove(task.move), task.join());
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Formats divide output the way other perft tools do: one
+     * {@code "e2e4: 600"} line per root move followed by the total
+     */
+    public static String formatDivide(Map<ChessMove, Long> divide) {
+        StringBuilder out = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<ChessMove, Long> entry : divide.entrySet()) {
+            out.append(coordinates(entry.getKey())).append(": ").append(entry.getValue()).append('\n');
+            total += entry.getValue();
+        }
+        return out.append('\n').append("Nodes searched: ").append(total).append('\n').toString();
+    }
+
+    /**
+     * Runs perft and prints the divide output and nodes per second. Arguments:
+     * depth, optionally the number of threads (more than one uses the parallel
+     * variant), and optionally a FEN record of the position (the starting
+     * position by default).
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String fen = args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length))
+                : Fen.START_POSITION;
+        ChessGame game = ChessGame.fromFen(fen);
+
+        long start = System.nanoTime();
+        Map<ChessMove, Long> divide;
+        if (threads > 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                divide = divideParallel(game, depth, true, pool);
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            divide = new Perft(game).divide(depth);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long nodes = divide.values().stream().mapToLong(Long::longValue).sum();
+        System.out.print(formatDivide(divide));
+        System.out.printf("Time: %d ms, %,d nodes/sec%n", elapsed / 1_000_000, nodes * 1_000_000_000L / Math.max(elapsed, 1));
+    }
+
+    private long search(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = buffers[depth - 1];
+        moves.clear();
+        generator.reset(game.getBoard(), game.getTeamTurn()).addMoves(moves);
+        if (depth == 1 && bulkCounting) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMoveUnchecked(moves.get(i));
+            nodes += search(depth - 1);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static int[] rootMoves(ChessGame game) {
+        MoveList moves = new MoveList();
+        game.addLegalMoves(moves);
+        int[] result = new int[moves.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = moves.get(i);
+        }
+        return result;
+    }
+
+    private static String coordinates(ChessMove move) {
+        String text = square(move.getStartPosition()) + square(move.getEndPosition());
+        if (move.getPromotionPiece() != null) {
+            text += switch (move.getPromotionPiece()) {
+                case QUEEN -> "q";
+                case ROOK -> "r";
+                case BISHOP -> "b";
+                case KNIGHT -> "n";
+                default -> "";
+            };
+        }
+        return text;
+    }
+
+    private static String square(ChessPosition position) {
+        return "" + (char) ('a' + position.getColumn() - 1) + position.getRow();
+    }
+
+    private static final class SubtreeTask extends RecursiveTask<Long> {
+        private final ChessGame game;
+        private final int move;
+        private final int depth;
+        private final boolean bulkCounting;
+
+        SubtreeTask(ChessGame root, int move, int depth, boolean bulkCounting) {
+            this.game = new ChessGame(root);
+            this.move = move;
+            this.depth = depth;
+            this.bulkCounting = bulkCounting;
+        }
+
+        @Override
+        protected Long compute() {
+            game.makeMoveUnchecked(move);
+            return new Perft(game, bulkCounting).count(depth);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Stack of packed undo records used by {@link ChessGame#makeMoveUnchecked}
+ * and {@link ChessGame#unmakeMove}.
+ * <p>
+ * Each record is a single {@code long}:
+ * <pre>
+ * bits  0-5   from square
+ * bits  6-11  to square
+ * bits 12-15  piece index of the moved piece (before any promotion)
+ * bits 16-19  piece index of the captured piece + 1, or 0 for none
+ * bit  20     side to move before the move (0 = white, 1 = black)
+ * bits 21-24  castling rights before the move
+ * bits 25-31  en passant square before the move + 1, or 0 for none
+ * </pre>
+ */
+final class UndoStack {
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int PIECE_MASK = 0xF;
+    private static final int CASTLING_MASK = 0xF;
+    private static final int EN_PASSANT_MASK = 0x7F;
+
+    private static final int TO_SHIFT = 6;
+    private static final int MOVED_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 16;
+    private static final int SIDE_SHIFT = 20;
+    private static final int CASTLING_SHIFT = 21;
+    private static final int EN_PASSANT_SHIFT = 25;
+
+    private long[] records = new long[64];
+    private int size;
+
+    static long encode(int from, int to, int movedIndex, int capturedIndex, ChessGame.TeamColor sideToMove,
+                       int castlingRights, int enPassantSquare) {
+        return from
+                | ((long) to << TO_SHIFT)
+                | ((long) movedIndex << MOVED_SHIFT)
+                | ((long) (capturedIndex + 1) << CAPTURED_SHIFT)
+                | ((long) sideToMove.ordinal() << SIDE_SHIFT)
+                | ((long) castlingRights << CASTLING_SHIFT)
+                | ((long) (enPassantSquare + 1) << EN_PASSANT_SHIFT);
+    }
+
+    static int from(long record) {
+        return (int) (record & SQUARE_MASK);
+    }
+
+    static int to(long record) {
+        return (int) ((record >>> TO_SHIFT) & SQUARE_MASK);
+    }
+
+    static int movedIndex(long record) {
+        return (int) ((record >>> MOVED_SHIFT) & PIECE_MASK);
+    }
+
+    /**
+     * @return the captured piece index, or -1 if nothing was captured
+     */
+    static int capturedIndex(long record) {
+        return (int) ((record >>> CAPTURED_SHIFT) & PIECE_MASK) - 1;
+    }
+
+    static ChessGame.TeamColor sideToMove(long record) {
+        return ((record >>> SIDE_SHIFT) & 1) == 0 ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+    }
+
+    static int castlingRights(long record) {
+        return (int) ((record >>> CASTLING_SHIFT) & CASTLING_MASK);
+    }
+
+    /**
+     * @return the en passant square, or -1 if there was none
+     */
+    static int enPassantSquare(long record) {
+        return (int) ((record >>> EN_PASSANT_SHIFT) & EN_PASSANT_MASK) - 1;
+    }
+
+    void push(long record) {
+        if (size == records.length) {
+            records = Arrays.copyOf(records, size * 2);
+        }
+        records[size++] = record;
+    }
+
+    long pop() {
+        if (size == 0) {
+            throw new IllegalStateException("No move to undo.");
+        }
+        return records[--size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,84 @@
+package chess.bitboards;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+
+/**
+ * Helpers for working with 64-bit square sets.
+ * <p>
+ * Squares are numbered 0-63 starting at a1 (row 1, column 1) and moving
+ * across each row, so bit {@code (row - 1) * 8 + (column - 1)} of a mask
+ * represents that square.
+ */
+public final class Bitboards {
+    private static final ChessGame.TeamColor[] COLORS = ChessGame.TeamColor.values();
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    public static final int SQUARE_COUNT = 64;
+    public static final int PIECE_TYPE_COUNT = TYPES.length;
+    public static final int PIECE_INDEX_COUNT = PIECE_TYPE_COUNT * COLORS.length;
+
+    public static final long EMPTY = 0L;
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_8 = RANK_1 << 56;
+
+    private Bitboards() {
+    }
+
+    public static int squareOf(int row, int column) {
+        return (row - 1) * 8 + (column - 1);
+    }
+
+    public static int squareOf(ChessPosition position) {
+        return squareOf(position.getRow(), position.getColumn());
+    }
+
+    public static int rowOf(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    public static int columnOf(int square) {
+        return (square & 7) + 1;
+    }
+
+    public static boolean isOnBoard(int row, int column) {
+        return row >= 1 && row <= 8 && column >= 1 && column <= 8;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static boolean contains(long mask, int square) {
+        return (mask & (1L << square)) != 0;
+    }
+
+    /**
+     * @return the lowest square in the mask; only meaningful when the mask is not empty
+     */
+    public static int lowestSquare(long mask) {
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    public static long withoutLowestSquare(long mask) {
+        return mask & (mask - 1);
+    }
+
+    /**
+     * Index of the bitboard holding the given piece kind, 0-11
+     */
+    public static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * PIECE_TYPE_COUNT + type.ordinal();
+    }
+
+    public static ChessGame.TeamColor colorOfIndex(int pieceIndex) {
+        return COLORS[pieceIndex / PIECE_TYPE_COUNT];
+    }
+
+    public static ChessPiece.PieceType typeOfIndex(int pieceIndex) {
+        return TYPES[pieceIndex % PIECE_TYPE_COUNT];
+    }
+}
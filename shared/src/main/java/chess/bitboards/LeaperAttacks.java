@@ -0,0 +1,52 @@
+package chess.bitboards;
+
+import chess.ChessGame;
+
+/**
+ * Attack sets for the pieces whose reach does not depend on blockers:
+ * knights, kings and pawn captures. Each table is indexed by square.
+ */
+public final class LeaperAttacks {
+    private static final int[][] KNIGHT_OFFSETS = {{2, -1}, {2, 1}, {1, -2}, {1, 2}, {-2, 1}, {-2, -1}, {-1, 2}, {-1, -2}};
+    private static final int[][] KING_OFFSETS = {{1, 0}, {1, 1}, {0, 1}, {-1, 0}, {-1, -1}, {0, -1}, {-1, 1}, {1, -1}};
+    private static final int[][] WHITE_PAWN_OFFSETS = {{-1, 1}, {1, 1}};
+    private static final int[][] BLACK_PAWN_OFFSETS = {{-1, -1}, {1, -1}};
+
+    private static final long[] KNIGHT = buildTable(KNIGHT_OFFSETS);
+    private static final long[] KING = buildTable(KING_OFFSETS);
+    private static final long[][] PAWN = {buildTable(WHITE_PAWN_OFFSETS), buildTable(BLACK_PAWN_OFFSETS)};
+
+    private LeaperAttacks() {
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING[square];
+    }
+
+    /**
+     * @return the squares a pawn of the given color standing on {@code square} could capture on
+     */
+    public static long pawnAttacks(ChessGame.TeamColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    private static long[] buildTable(int[][] offsets) {
+        long[] table = new long[Bitboards.SQUARE_COUNT];
+        for (int square = 0; square < Bitboards.SQUARE_COUNT; square++) {
+            int row = Bitboards.rowOf(square);
+            int column = Bitboards.columnOf(square);
+            for (int[] offset : offsets) {
+                int testRow = row + offset[1];
+                int testCol = column + offset[0];
+                if (Bitboards.isOnBoard(testRow, testCol)) {
+                    table[square] |= Bitboards.bit(Bitboards.squareOf(testRow, testCol));
+                }
+            }
+        }
+        return table;
+    }
+}
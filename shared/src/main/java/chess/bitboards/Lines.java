@@ -0,0 +1,45 @@
+package chess.bitboards;
+
+/**
+ * Geometry between pairs of squares that share a row, column or diagonal.
+ */
+public final class Lines {
+    private static final long[][] BETWEEN = new long[Bitboards.SQUARE_COUNT][Bitboards.SQUARE_COUNT];
+    private static final long[][] LINE = new long[Bitboards.SQUARE_COUNT][Bitboards.SQUARE_COUNT];
+
+    static {
+        for (int a = 0; a < Bitboards.SQUARE_COUNT; a++) {
+            long rookRays = MagicAttacks.rookAttacks(a, Bitboards.EMPTY);
+            long bishopRays = MagicAttacks.bishopAttacks(a, Bitboards.EMPTY);
+            for (int b = 0; b < Bitboards.SQUARE_COUNT; b++) {
+                long ends = Bitboards.bit(a) | Bitboards.bit(b);
+                if (Bitboards.contains(rookRays, b)) {
+                    BETWEEN[a][b] = MagicAttacks.rookAttacks(a, Bitboards.bit(b)) & MagicAttacks.rookAttacks(b, Bitboards.bit(a));
+                    LINE[a][b] = (rookRays & MagicAttacks.rookAttacks(b, Bitboards.EMPTY)) | ends;
+                } else if (Bitboards.contains(bishopRays, b)) {
+                    BETWEEN[a][b] = MagicAttacks.bishopAttacks(a, Bitboards.bit(b)) & MagicAttacks.bishopAttacks(b, Bitboards.bit(a));
+                    LINE[a][b] = (bishopRays & MagicAttacks.bishopAttacks(b, Bitboards.EMPTY)) | ends;
+                }
+            }
+        }
+    }
+
+    private Lines() {
+    }
+
+    /**
+     * @return the squares strictly between {@code a} and {@code b}, or an empty
+     * mask if they are not on a common row, column or diagonal
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * @return the whole row, column or diagonal through both squares (edge to
+     * edge), or an empty mask if they are not aligned
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+}
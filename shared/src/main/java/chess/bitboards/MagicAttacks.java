@@ -0,0 +1,179 @@
+package chess.bitboards;
+
+/**
+ * Precomputed sliding-piece attack tables indexed with magic multipliers.
+ * <p>
+ * For every square the relevant blocker squares (the piece's rays minus the
+ * board edge) are multiplied by a per-square magic number, and the top bits of
+ * the product index a table holding the attack set for that blocker layout.
+ * A lookup is therefore one mask, one multiply and one shift.
+ * <p>
+ * The tables are built the first time any lookup is made. Magic numbers are
+ * searched for with fixed seeds, so the tables are identical on every run;
+ * {@link #initialize()} forces the build and reports how long it took.
+ */
+public final class MagicAttacks {
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {-1, -1}, {1, -1}, {-1, 1}};
+    // per-rank PRNG seeds known to find magics for every square of that rank quickly
+    private static final long[] RANK_SEEDS = {728, 10316, 55013, 32803, 12281, 15100, 16645, 255};
+
+    private MagicAttacks() {
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return Tables.ROOK.attacks(square, occupied);
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return Tables.BISHOP.attacks(square, occupied);
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return Tables.ROOK.attacks(square, occupied) | Tables.BISHOP.attacks(square, occupied);
+    }
+
+    /**
+     * Builds the tables now if they have not been built yet
+     *
+     * @return how long the one-time table build took, in nanoseconds
+     */
+    public static long initialize() {
+        return Tables.INIT_NANOS;
+    }
+
+    /**
+     * Walks each ray from the square until it leaves the board or hits a blocker.
+     * Only used to fill the tables.
+     */
+    static long slowAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        int row = Bitboards.rowOf(square);
+        int column = Bitboards.columnOf(square);
+        for (int[] direction : directions) {
+            int testRow = row + direction[1];
+            int testCol = column + direction[0];
+            while (Bitboards.isOnBoard(testRow, testCol)) {
+                int target = Bitboards.squareOf(testRow, testCol);
+                attacks |= Bitboards.bit(target);
+                if (Bitboards.contains(occupied, target)) {
+                    break;
+                }
+                testRow += direction[1];
+                testCol += direction[0];
+            }
+        }
+        return attacks;
+    }
+
+    /*
+     * Holder class so the tables are only built on first use.
+     */
+    private static final class Tables {
+        static final MagicTable ROOK;
+        static final MagicTable BISHOP;
+        static final long INIT_NANOS;
+
+        static {
+            long start = System.nanoTime();
+            ROOK = new MagicTable(ROOK_DIRECTIONS);
+            BISHOP = new MagicTable(BISHOP_DIRECTIONS);
+            INIT_NANOS = System.nanoTime() - start;
+        }
+    }
+
+    private static final class MagicTable {
+        private final long[] masks = new long[Bitboards.SQUARE_COUNT];
+        private final long[] magics = new long[Bitboards.SQUARE_COUNT];
+        private final int[] shifts = new int[Bitboards.SQUARE_COUNT];
+        private final long[][] attacks = new long[Bitboards.SQUARE_COUNT][];
+
+        MagicTable(int[][] directions) {
+            for (int square = 0; square < Bitboards.SQUARE_COUNT; square++) {
+                masks[square] = relevantBlockers(square, directions);
+                long[] seed = {RANK_SEEDS[Bitboards.rowOf(square) - 1]};
+                fillSquare(square, directions, seed);
+            }
+        }
+
+        long attacks(int square, long occupied) {
+            int index = (int) (((occupied & masks[square]) * magics[square]) >>> shifts[square]);
+            return attacks[square][index];
+        }
+
+        private void fillSquare(int square, int[][] directions, long[] seed) {
+            long mask = masks[square];
+            int bits = Long.bitCount(mask);
+            int size = 1 << bits;
+
+            long[] blockers = new long[size];
+            long[] reference = new long[size];
+            long subset = 0L;
+            for (int i = 0; i < size; i++) {
+                blockers[i] = subset;
+                reference[i] = slowAttacks(square, subset, directions);
+                subset = (subset - mask) & mask;
+            }
+
+            long[] table = new long[size];
+            int[] usedEpoch = new int[size];
+            int shift = 64 - bits;
+            for (int epoch = 1; ; epoch++) {
+                long magic = sparseRandom(seed);
+                if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                    continue;
+                }
+                if (tryMagic(magic, shift, blockers, reference, table, usedEpoch, epoch)) {
+                    magics[square] = magic;
+                    shifts[square] = shift;
+                    attacks[square] = table;
+                    return;
+                }
+            }
+        }
+
+        private static boolean tryMagic(long magic, int shift, long[] blockers, long[] reference,
+                                        long[] table, int[] usedEpoch, int epoch) {
+            for (int i = 0; i < blockers.length; i++) {
+                int index = (int) ((blockers[i] * magic) >>> shift);
+                if (usedEpoch[index] != epoch) {
+                    usedEpoch[index] = epoch;
+                    table[index] = reference[i];
+                } else if (table[index] != reference[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long relevantBlockers(int square, int[][] directions) {
+            long mask = 0L;
+            int row = Bitboards.rowOf(square);
+            int column = Bitboards.columnOf(square);
+            for (int[] direction : directions) {
+                int testRow = row + direction[1];
+                int testCol = column + direction[0];
+                // the last square of a ray never blocks anything behind it
+                while (Bitboards.isOnBoard(testRow + direction[1], testCol + direction[0])) {
+                    mask |= Bitboards.bit(Bitboards.squareOf(testRow, testCol));
+                    testRow += direction[1];
+                    testCol += direction[0];
+                }
+            }
+            return mask;
+        }
+
+        private static long sparseRandom(long[] seed) {
+            return nextRandom(seed) & nextRandom(seed) & nextRandom(seed);
+        }
+
+        private static long nextRandom(long[] seed) {
+            long x = seed[0];
+            x ^= x >>> 12;
+            x ^= x << 25;
+            x ^= x >>> 27;
+            seed[0] = x;
+            return x * 0x2545F4914F6CDD1DL;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package chess.bitboards;
+
+/**
+ * Random 64-bit keys for Zobrist hashing. A position's key is the XOR of the
+ * key of every (piece, square) pair on the board plus the keys of the side to
+ * move and the castling/en passant state, so a single change to the position
+ * updates the key with one or two XORs.
+ * <p>
+ * Keys come from a fixed seed, so they are the same in every process and can
+ * be stored or compared across server and client.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long[][] PIECE_SQUARE = new long[Bitboards.PIECE_INDEX_COUNT][Bitboards.SQUARE_COUNT];
+    private static final long BLACK_TO_MOVE;
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_COLUMN = new long[8];
+
+    static {
+        long[] state = {SEED};
+        for (long[] squares : PIECE_SQUARE) {
+            for (int square = 0; square < squares.length; square++) {
+                squares[square] = next(state);
+            }
+        }
+        BLACK_TO_MOVE = next(state);
+        for (int rights = 1; rights < CASTLING.length; rights++) {
+            CASTLING[rights] = next(state);
+        }
+        for (int column = 0; column < EN_PASSANT_COLUMN.length; column++) {
+            EN_PASSANT_COLUMN[column] = next(state);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    public static long pieceSquare(int pieceIndex, int square) {
+        return PIECE_SQUARE[pieceIndex][square];
+    }
+
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    /**
+     * @param rights castling rights bit set, 0-15; no rights hashes to 0
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @param square en passant target square, or -1 for none (hashes to 0)
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0L : EN_PASSANT_COLUMN[square & 7];
+    }
+
+    /*
+     * SplitMix64
+     */
+    private static long next(long[] state) {
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,7 +1,10 @@
 package chess.piececalculators;
+
+import chess.bitboards.MagicAttacks;
+
 public class BishopCalculator extends SteppingMoveCalculator {
     @Override
-    protected int[][] getPotentialMoves() {
-        return new int[][]{{1, 1}, {-1, -1}, {1, -1}, {-1, 1}};
+    protected long getAttacks(int square, long occupied) {
+        return MagicAttacks.bishopAttacks(square, occupied);
     }
 }
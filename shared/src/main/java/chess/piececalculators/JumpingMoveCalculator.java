@@ -1,35 +1,40 @@
 package chess.piececalculators;
 
 import chess.ChessBoard;
-import chess.ChessMove;
-import chess.ChessPosition;
-
-import java.util.HashSet;
-import java.util.Set;
+import chess.MoveList;
+import chess.PackedMove;
+import chess.bitboards.Bitboards;
 
 public abstract class JumpingMoveCalculator implements PieceMoveCalculator {
+    // copied once at construction and never handed out
+    private final int[][] potentialMoves;
+
+    /**
+     * @param potentialMoves the {column, row} offsets the piece can jump by
+     */
+    protected JumpingMoveCalculator(int[][] potentialMoves) {
+        this.potentialMoves = new int[potentialMoves.length][];
+        for (int i = 0; i < potentialMoves.length; i++) {
+            this.potentialMoves[i] = potentialMoves[i].clone();
+        }
+    }
 
-    protected abstract int[][] getPotentialMoves();
     @Override
-    public Set<ChessMove> getMoves(ChessBoard gameBoard, ChessPosition activePosition) {
-        Set<ChessMove> moves = new HashSet<>();
-
-        int[][] potentialMoves = getPotentialMoves();
+    public void getMoves(ChessBoard gameBoard, int square, MoveList moves) {
+        long ownPieces = ownPieces(gameBoard, square);
+        int activeRow = Bitboards.rowOf(square);
+        int activeCol = Bitboards.columnOf(square);
 
         for (int[] jump : potentialMoves) {
-            int testRow = activePosition.getRow() + jump[1];
-            int testCol = activePosition.getColumn() + jump[0];
-
-            ChessPosition testPosition = new ChessPosition(testRow, testCol);
+            int testRow = activeRow + jump[1];
+            int testCol = activeCol + jump[0];
 
-            if (isRealPosition(testPosition)) {
-                if (gameBoard.getPiece(testPosition) == null) {
-                    moves.add(new ChessMove(activePosition, testPosition, null));
-                } else if (gameBoard.getColorOnSquare(testPosition) != gameBoard.getColorOnSquare(activePosition)) {
-                    moves.add(new ChessMove(activePosition, testPosition, null));
+            if (Bitboards.isOnBoard(testRow, testCol)) {
+                int testSquare = Bitboards.squareOf(testRow, testCol);
+                if (!Bitboards.contains(ownPieces, testSquare)) {
+                    moves.add(PackedMove.encode(square, testSquare));
                 }
             }
         }
-        return moves;
     }
-}
\ No newline at end of file
+}
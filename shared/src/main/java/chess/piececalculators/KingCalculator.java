@@ -1,10 +1,9 @@
 package chess.piececalculators;
 
 public class KingCalculator extends JumpingMoveCalculator {
-    @Override
-    protected int[][] getPotentialMoves() {
-        return new int[][]{
+    public KingCalculator() {
+        super(new int[][]{
                 {1, 0}, {1, 1}, {0, 1}, {-1, 0}, {-1, -1}, {0, -1}, {-1, 1}, {1, -1}
-        };
+        });
     }
-}
\ No newline at end of file
+}
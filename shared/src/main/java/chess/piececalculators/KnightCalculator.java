@@ -1,10 +1,9 @@
 package chess.piececalculators;
 
 public class KnightCalculator extends JumpingMoveCalculator {
-    @Override
-    protected int[][] getPotentialMoves() {
-        return new int[][]{
+    public KnightCalculator() {
+        super(new int[][]{
                 {2, -1}, {2, 1}, {1, -2}, {1, 2}, {-2, 1}, {-2, -1}, {-1, 2}, {-1, -2}
-        };
+        });
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,20 @@
 package chess.piececalculators;
 
 import chess.*;
-
-import java.util.HashSet;
-import java.util.Set;
+import chess.bitboards.Bitboards;
+import chess.bitboards.LeaperAttacks;
 
 public class PawnCalculator implements PieceMoveCalculator {
-    public Set<ChessMove> getMoves(ChessBoard gameBoard, ChessPosition activePosition){
-        Set<ChessMove> moves = new HashSet<>();
-
-        ChessGame.TeamColor activeColor = gameBoard.getColorOnSquare(activePosition);
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.ROOK};
+
+    @Override
+    public void getMoves(ChessBoard gameBoard, int square, MoveList moves) {
+        ChessPiece pawn = gameBoard.getPiece(square);
+        if (pawn == null) {
+            return;
+        }
+        ChessGame.TeamColor activeColor = pawn.getTeamColor();
 
         int stepDirection = 0;
         if (activeColor == ChessGame.TeamColor.WHITE) {
@@ -19,87 +24,61 @@ public class PawnCalculator implements PieceMoveCalculator {
         }
 
         //call the move helper functions
-        getForwardMoves(gameBoard, moves, activePosition, stepDirection, activeColor);
+        getForwardMoves(gameBoard, moves, square, stepDirection, activeColor);
 
-        getAttackMoves (gameBoard, moves, activePosition, stepDirection, activeColor);
-
-
-        return moves;
+        getAttackMoves(gameBoard, moves, square, activeColor);
     }
 
-    public void getForwardMoves (ChessBoard gameBoard, Set<ChessMove> moves, ChessPosition activePosition,
-                                 int stepDirection, ChessGame.TeamColor activeColor) {
-        int testRow = activePosition.getRow() + stepDirection;
-        int testCol = activePosition.getColumn();
-
-        ChessPosition testPositionOneStep = new ChessPosition(testRow, testCol);
-        ChessPosition testPositionTwoStep = new ChessPosition(testRow + stepDirection, testCol);
-
-
-        if (isStartingTurn(activePosition, activeColor)){
-            if (gameBoard.getPiece(testPositionOneStep) == null && isRealPosition(testPositionOneStep)){
-                moves.add(new ChessMove(activePosition, testPositionOneStep, null));
+    public void getForwardMoves(ChessBoard gameBoard, MoveList moves, int activeSquare,
+                                int stepDirection, ChessGame.TeamColor activeColor) {
+        int testRow = Bitboards.rowOf(activeSquare) + stepDirection;
+        if (testRow < 1 || testRow > 8) {
+            return;
+        }
 
-                if(gameBoard.getPiece(testPositionTwoStep) == null && isRealPosition(testPositionTwoStep)){
-                    moves.add(new ChessMove(activePosition, testPositionTwoStep, null));
-                }
-            }
-        } else {
-            if (isPromotionRow(testPositionOneStep)){
-                addAllPromotions(moves, activePosition, testPositionOneStep);
-            } else if (gameBoard.getPiece(testPositionOneStep) == null && isRealPosition(testPositionOneStep)) {
-                moves.add(new ChessMove(activePosition, testPositionOneStep, null));
-            }
+        long occupied = gameBoard.getOccupancy();
+        int oneStep = activeSquare + 8 * stepDirection;
+        if (Bitboards.contains(occupied, oneStep)) {
+            return;
         }
+        addPawnMove(moves, activeSquare, oneStep);
 
+        int twoStep = oneStep + 8 * stepDirection;
+        if (isStartingTurn(activeSquare, activeColor) && !Bitboards.contains(occupied, twoStep)) {
+            moves.add(PackedMove.encode(activeSquare, twoStep));
+        }
     }
 
-    public void getAttackMoves (ChessBoard gameBoard, Set<ChessMove> moves, ChessPosition activePosition,
-                                int stepDirection, ChessGame.TeamColor activeColor) {
-        int testRow = activePosition.getRow() + stepDirection;
-        int testColRight = activePosition.getColumn() + 1;
-        int testColLeft = activePosition.getColumn() - 1;
-
-        ChessPosition testLeft = new ChessPosition(testRow, testColLeft);
-        ChessPosition testRight = new ChessPosition(testRow, testColRight);
-
-        if (isRealPosition(testLeft)) {
-            if (gameBoard.getColorOnSquare(testLeft) != activeColor && gameBoard.getPiece(testLeft) != null) {
-                if (isPromotionRow(testLeft)){
-                    addAllPromotions(moves, activePosition, testLeft);
-                } else {
-                    moves.add(new ChessMove(activePosition, testLeft, null));
-                }
-            }
-        }
+    public void getAttackMoves(ChessBoard gameBoard, MoveList moves, int activeSquare,
+                               ChessGame.TeamColor activeColor) {
+        long targets = LeaperAttacks.pawnAttacks(activeColor, activeSquare)
+                & gameBoard.getOccupancy(activeColor.opponent());
 
-        if(isRealPosition(testRight)){
-            if (gameBoard.getColorOnSquare(testRight) != activeColor && gameBoard.getPiece(testRight) != null){
-                if (isPromotionRow(testRight)){
-                    addAllPromotions(moves, activePosition, testRight);
-                } else {
-                    moves.add(new ChessMove(activePosition, testRight, null));
-                }
-            }
+        for (; targets != 0; targets = Bitboards.withoutLowestSquare(targets)) {
+            addPawnMove(moves, activeSquare, Bitboards.lowestSquare(targets));
         }
+    }
 
-
+    public boolean isPromotionRow(int testSquare) {
+        return Bitboards.rowOf(testSquare) == 1 || Bitboards.rowOf(testSquare) == 8;
     }
 
-    public boolean isPromotionRow (ChessPosition testPosition) {
-        return testPosition.getRow() == 1 || testPosition.getRow() == 8;
+    public boolean isStartingTurn(int activeSquare, ChessGame.TeamColor activeColor) {
+        return (Bitboards.rowOf(activeSquare) == 2 && activeColor == ChessGame.TeamColor.WHITE) ||
+                (Bitboards.rowOf(activeSquare) == 7 && activeColor == ChessGame.TeamColor.BLACK);
     }
 
-    public boolean isStartingTurn (ChessPosition activePosition, ChessGame.TeamColor activeColor) {
-        return (activePosition.getRow() == 2 && activeColor == ChessGame.TeamColor.WHITE) ||
-                (activePosition.getRow() == 7 && activeColor == ChessGame.TeamColor.BLACK);
+    private void addPawnMove(MoveList moves, int activeSquare, int testSquare) {
+        if (isPromotionRow(testSquare)) {
+            addAllPromotions(moves, activeSquare, testSquare);
+        } else {
+            moves.add(PackedMove.encode(activeSquare, testSquare));
+        }
     }
 
-    public void addAllPromotions (Set<ChessMove> moves, ChessPosition activePosition, ChessPosition testPosition) {
-        moves.add(new ChessMove(activePosition, testPosition, ChessPiece.PieceType.BISHOP));
-        moves.add(new ChessMove(activePosition, testPosition, ChessPiece.PieceType.KNIGHT));
-        moves.add(new ChessMove(activePosition, testPosition, ChessPiece.PieceType.QUEEN));
-        moves.add(new ChessMove(activePosition, testPosition, ChessPiece.PieceType.ROOK));
-        // maybe a pawn
+    public void addAllPromotions(MoveList moves, int activeSquare, int testSquare) {
+        for (ChessPiece.PieceType type : PROMOTION_TYPES) {
+            moves.add(PackedMove.encode(activeSquare, testSquare, type));
+        }
     }
 }
@@ -1,13 +1,46 @@
 package chess.piececalculators;
 
 import chess.*;
+import chess.bitboards.Bitboards;
 
+import java.util.HashSet;
 import java.util.Set;
 public interface PieceMoveCalculator {
 
-    Set<ChessMove> getMoves(ChessBoard gameBoard, ChessPosition activePosition);
+    /**
+     * Appends the piece's moves as {@link PackedMove packed moves} without allocating
+     *
+     * @param square index of the piece's square (0 = a1, 63 = h8)
+     */
+    void getMoves(ChessBoard gameBoard, int square, MoveList moves);
+
+    default Set<ChessMove> getMoves(ChessBoard gameBoard, ChessPosition activePosition) {
+        MoveList moves = new MoveList();
+        getMoves(gameBoard, Bitboards.squareOf(activePosition), moves);
+
+        Set<ChessMove> result = new HashSet<>();
+        moves.addChessMovesTo(result);
+        return result;
+    }
 
     default boolean isRealPosition(ChessPosition position) {
         return position.getRow() <= 8 && position.getRow() >= 1 && position.getColumn() <= 8 && position.getColumn() >= 1;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return mask of the squares holding pieces of the same color as the piece on {@code square}
+     */
+    default long ownPieces(ChessBoard gameBoard, int square) {
+        ChessPiece piece = gameBoard.getPiece(square);
+        return piece == null ? Bitboards.EMPTY : gameBoard.getOccupancy(piece.getTeamColor());
+    }
+
+    /**
+     * Appends a non-promotion move from {@code from} to every square in {@code targets}
+     */
+    default void addTargets(int from, long targets, MoveList moves) {
+        for (; targets != 0; targets = Bitboards.withoutLowestSquare(targets)) {
+            moves.add(PackedMove.encode(from, Bitboards.lowestSquare(targets)));
+        }
+    }
+}
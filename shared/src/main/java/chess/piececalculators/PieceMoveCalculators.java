@@ -0,0 +1,31 @@
+package chess.piececalculators;
+
+import chess.ChessPiece;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Dispatch table from piece type to its move calculator. Calculators hold no
+ * state, so one shared instance per type serves every board and thread.
+ */
+public final class PieceMoveCalculators {
+    private static final Map<ChessPiece.PieceType, PieceMoveCalculator> CALCULATORS =
+            new EnumMap<>(ChessPiece.PieceType.class);
+
+    static {
+        CALCULATORS.put(ChessPiece.PieceType.KING, new KingCalculator());
+        CALCULATORS.put(ChessPiece.PieceType.QUEEN, new QueenCalculator());
+        CALCULATORS.put(ChessPiece.PieceType.BISHOP, new BishopCalculator());
+        CALCULATORS.put(ChessPiece.PieceType.ROOK, new RookCalculator());
+        CALCULATORS.put(ChessPiece.PieceType.KNIGHT, new KnightCalculator());
+        CALCULATORS.put(ChessPiece.PieceType.PAWN, new PawnCalculator());
+    }
+
+    private PieceMoveCalculators() {
+    }
+
+    public static PieceMoveCalculator forType(ChessPiece.PieceType type) {
+        return CALCULATORS.get(type);
+    }
+}
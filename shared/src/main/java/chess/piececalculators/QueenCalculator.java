@@ -1,8 +1,10 @@
 package chess.piececalculators;
 
+import chess.bitboards.MagicAttacks;
+
 public class QueenCalculator extends SteppingMoveCalculator {
     @Override
-    protected int[][] getPotentialMoves() {
-        return new int[][]{{0, 1}, {1, 0}, {1, 1}, {0, -1}, {-1, 0}, {1, -1}, {-1, 1}, {-1, -1}};
+    protected long getAttacks(int square, long occupied) {
+        return MagicAttacks.queenAttacks(square, occupied);
     }
-}
\ No newline at end of file
+}
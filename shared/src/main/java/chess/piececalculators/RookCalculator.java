@@ -1,8 +1,10 @@
 package chess.piececalculators;
 
+import chess.bitboards.MagicAttacks;
+
 public class RookCalculator extends SteppingMoveCalculator {
     @Override
-    protected int[][] getPotentialMoves() {
-        return new int[][] {{1,0}, {-1, 0}, {0, 1}, {0, -1}};
+    protected long getAttacks(int square, long occupied) {
+        return MagicAttacks.rookAttacks(square, occupied);
     }
 }
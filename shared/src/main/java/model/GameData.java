@@ -3,4 +3,11 @@ package model;
 import chess.ChessGame;
 
 public record GameData(int gameID, String whiteUsername, String blackUsername, String gameName, ChessGame game) {
-}
\ No newline at end of file
+
+    /**
+     * @return a copy with its own game, so changes to one are not seen by the other
+     */
+    public GameData copy() {
+        return new GameData(gameID, whiteUsername, blackUsername, gameName, game == null ? null : new ChessGame(game));
+    }
+}
@@ -0,0 +1,187 @@
+package websocket;
+
+import chess.ChessGameCodec;
+import chess.ChessMove;
+import chess.PackedMove;
+import websocket.commands.MakeMoveCommand;
+import websocket.commands.UserGameCommand;
+import websocket.messages.ErrorMessage;
+import websocket.messages.LoadGameMessage;
+import websocket.messages.MoveMessage;
+import websocket.messages.NotificationMessage;
+import websocket.messages.ServerMessage;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of the WebSocket commands and server messages, sent as
+ * binary frames next to the JSON text frames. A session that sends binary
+ * commands is answered with binary messages.
+ * <p>
+ * Every frame starts with a type byte, the ordinal of the command or message
+ * type, so the order of those enums is part of the format. Numbers are big
+ * endian; text is a 2-byte length followed by UTF-8, with length 0xFFFF
+ * standing for null; a move is a 2-byte {@link PackedMove}.
+ * <pre>
+ * command          type, flags (bit 0: move updates), game ID (4 bytes, -1 for none), auth token
+ *   MAKE_MOVE      ... followed by the move
+ * LOAD_GAME        type, sequence (8 bytes), game in {@link ChessGameCodec} form
+ * MOVE             type, move, sequence (8 bytes), position key (8 bytes)
+ * ERROR            type, text
+ * NOTIFICATION     type, text
+ * </pre>
+ */
+public final class BinaryProtocol {
+    private static final UserGameCommand.CommandType[] COMMAND_TYPES = UserGameCommand.CommandType.values();
+    private static final ServerMessage.ServerMessageType[] MESSAGE_TYPES = ServerMessage.ServerMessageType.values();
+
+    private static final int MOVE_UPDATES = 1;
+    private static final int NO_GAME = -1;
+    private static final int NULL_TEXT = 0xFFFF;
+
+    private BinaryProtocol() {
+    }
+
+    public static byte[] encodeCommand(UserGameCommand command) {
+        byte[] authToken = utf8(command.getAuthToken());
+        boolean isMove = command.getCommandType() == UserGameCommand.CommandType.MAKE_MOVE;
+        ByteBuffer out = ByteBuffer.allocate(1 + 1 + 4 + textLength(authToken) + (isMove ? 2 : 0));
+
+        out.put((byte) command.getCommandType().ordinal());
+        out.put((byte) (command.wantsMoveUpdates() ? MOVE_UPDATES : 0));
+        out.putInt(command.getGameID() == null ? NO_GAME : command.getGameID());
+        putText(out, authToken);
+        if (isMove) {
+            out.putShort((short) PackedMove.encode(((MakeMoveCommand) command).getMove()));
+        }
+        return out.array();
+    }
+
+    /**
+     * @return a {@link MakeMoveCommand} for MAKE_MOVE, otherwise a plain {@link UserGameCommand}
+     * @throws IllegalArgumentException if the bytes are not a command
+     */
+    public static UserGameCommand decodeCommand(ByteBuffer in) {
+        try {
+            UserGameCommand.CommandType type = COMMAND_TYPES[typeIndex(in.get(), COMMAND_TYPES.length)];
+            boolean moveUpdates = (in.get() & MOVE_UPDATES) != 0;
+            int gameID = in.getInt();
+            Integer game = gameID == NO_GAME ? null : gameID;
+            String authToken = getText(in);
+
+            if (type == UserGameCommand.CommandType.MAKE_MOVE) {
+                return new MakeMoveCommand(authToken, game, getMove(in));
+            }
+            return new UserGameCommand(type, authToken, game, moveUpdates);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Binary command is truncated.", e);
+        }
+    }
+
+    public static byte[] encodeMessage(ServerMessage message) {
+        ByteBuffer out;
+        switch (message.getServerMessageType()) {
+            case LOAD_GAME -> {
+                LoadGameMessage loadGame = (LoadGameMessage) message;
+                out = ByteBuffer.allocate(1 + 8 + ChessGameCodec.VERSION_1_LENGTH);
+                out.put((byte) message.getServerMessageType().ordinal());
+                out.putLong(loadGame.getSequence());
+                out.put(ChessGameCodec.encode(loadGame.getGame()));
+            }
+            case MOVE -> {
+                MoveMessage move = (MoveMessage) message;
+                out = ByteBuffer.allocate(1 + 2 + 8 + 8);
+                out.put((byte) message.getServerMessageType().ordinal());
+                out.putShort((short) PackedMove.encode(move.getMove()));
+                out.putLong(move.getSequence());
+                out.putLong(move.getPositionKey());
+            }
+            case ERROR -> out = textMessage(message, ((ErrorMessage) message).getErrorMessage());
+            case NOTIFICATION -> out = textMessage(message, ((NotificationMessage) message).getMessage());
+            default -> throw new IllegalArgumentException("Unknown message type " + message.getServerMessageType() + ".");
+        }
+        return out.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a server message
+     */
+    public static ServerMessage decodeMessage(ByteBuffer in) {
+        try {
+            ServerMessage.ServerMessageType type = MESSAGE_TYPES[typeIndex(in.get(), MESSAGE_TYPES.length)];
+            return switch (type) {
+                case LOAD_GAME -> {
+                    long sequence = in.getLong();
+                    byte[] game = new byte[in.remaining()];
+                    in.get(game);
+                    yield new LoadGameMessage(ChessGameCodec.decode(game), sequence);
+                }
+                case MOVE -> new MoveMessage(getMove(in), in.getLong(), in.getLong());
+                case ERROR -> new ErrorMessage(getText(in));
+                case NOTIFICATION -> new NotificationMessage(getText(in));
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Binary message is truncated.", e);
+        }
+    }
+
+    private static ByteBuffer textMessage(ServerMessage message, String text) {
+        byte[] bytes = utf8(text);
+        ByteBuffer out = ByteBuffer.allocate(1 + textLength(bytes));
+        out.put((byte) message.getServerMessageType().ordinal());
+        putText(out, bytes);
+        return out;
+    }
+
+    private static int typeIndex(byte type, int count) {
+        int index = type & 0xFF;
+        if (index >= count) {
+            throw new IllegalArgumentException("Unknown binary frame type " + index + ".");
+        }
+        return index;
+    }
+
+    private static byte[] utf8(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_TEXT) {
+            throw new IllegalArgumentException("Text is too long for a binary frame.");
+        }
+        return bytes;
+    }
+
+    private static int textLength(byte[] bytes) {
+        return 2 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putText(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putShort((short) NULL_TEXT);
+            return;
+        }
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static ChessMove getMove(ByteBuffer in) {
+        int move = in.getShort() & 0xFFFF;
+        if (!PackedMove.isValid(move)) {
+            throw new IllegalArgumentException("Invalid packed move " + move + ".");
+        }
+        return PackedMove.toChessMove(move);
+    }
+
+    private static String getText(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        if (length == NULL_TEXT) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
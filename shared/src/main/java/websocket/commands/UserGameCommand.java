@@ -16,17 +16,32 @@ public class UserGameCommand {
 
     private final Integer gameID;
 
+    private final boolean moveUpdates;
+
     public UserGameCommand(CommandType commandType, String authToken, Integer gameID) {
+        this(commandType, authToken, gameID, false);
+    }
+
+    /**
+     * @param moveUpdates on CONNECT, asks to be sent a {@link websocket.messages.MoveMessage}
+     *                    after each move instead of the whole game
+     */
+    public UserGameCommand(CommandType commandType, String authToken, Integer gameID, boolean moveUpdates) {
         this.commandType = commandType;
         this.authToken = authToken;
         this.gameID = gameID;
+        this.moveUpdates = moveUpdates;
     }
 
     public enum CommandType {
         CONNECT,
         MAKE_MOVE,
         LEAVE,
-        RESIGN
+        RESIGN,
+        /**
+         * Asks for the whole game again, e.g. after a missed move update
+         */
+        SYNC
     }
 
     public CommandType getCommandType() {
@@ -41,6 +56,10 @@ public class UserGameCommand {
         return gameID;
     }
 
+    public boolean wantsMoveUpdates() {
+        return moveUpdates;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -5,14 +5,27 @@ import chess.ChessGame;
 
 public class LoadGameMessage extends ServerMessage {
     private final ChessGame game;
+    private final long sequence;
 
     public LoadGameMessage(ChessGame game) {
+        this(game, 0);
+    }
+
+    /**
+     * @param sequence number of the last move applied to the game, for clients that follow {@link MoveMessage}s
+     */
+    public LoadGameMessage(ChessGame game, long sequence) {
         super(ServerMessageType.LOAD_GAME);
         this.game = game;
+        this.sequence = sequence;
     }
 
     public ChessGame getGame() {
         return game;
     }
 
+    public long getSequence() {
+        return sequence;
+    }
+
 }
\ No newline at end of file
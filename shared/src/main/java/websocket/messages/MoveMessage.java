@@ -0,0 +1,40 @@
+package websocket.messages;
+
+import chess.ChessGame;
+import chess.ChessMove;
+
+/**
+ * Tells a client which move was just made instead of sending the whole game.
+ * <p>
+ * Moves are numbered per game, continuing from the sequence of the last
+ * {@link LoadGameMessage}. A client applies the move to its own copy of the
+ * game and compares the result with {@link #getPositionKey()}; if a number
+ * was skipped or the keys differ, it asks for the whole game again.
+ */
+public class MoveMessage extends ServerMessage {
+    private final ChessMove move;
+    private final long sequence;
+    private final long positionKey;
+
+    /**
+     * @param positionKey {@link ChessGame#positionKey()} after the move
+     */
+    public MoveMessage(ChessMove move, long sequence, long positionKey) {
+        super(ServerMessageType.MOVE);
+        this.move = move;
+        this.sequence = sequence;
+        this.positionKey = positionKey;
+    }
+
+    public ChessMove getMove() {
+        return move;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getPositionKey() {
+        return positionKey;
+    }
+}
@@ -0,0 +1,65 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChessGameCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            Fen.START_POSITION,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+            "rnbqkbnr/pp1ppppp/8/2pP4/8/8/PPP1PPPP/RNBQKBNR w Kq c6",
+            "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - -",
+            "8/8/8/8/8/8/8/8 w - -"
+    })
+    @DisplayName("Games survive a round trip")
+    void testRoundTrip(String fen) {
+        ChessGame game = ChessGame.fromFen(fen);
+        byte[] encoded = ChessGameCodec.encode(game);
+        ChessGame decoded = ChessGameCodec.decode(encoded);
+
+        assertEquals(ChessGameCodec.VERSION_1_LENGTH, encoded.length, "Encoded games should have a fixed length.");
+        assertEquals(fen, decoded.toFen(), "Decoded position should match.");
+        assertEquals(game.positionKey(), decoded.positionKey(), "Position keys should match.");
+    }
+
+    @Test
+    @DisplayName("Game over flag is kept")
+    void testGameOver() {
+        ChessGame game = new ChessGame();
+        game.setGameOver(true);
+
+        assertTrue(ChessGameCodec.decode(ChessGameCodec.encode(game)).isGameOver(), "Game over flag should be kept.");
+    }
+
+    @Test
+    @DisplayName("JSON is not mistaken for an encoded game")
+    void testJsonIsNotEncoded() {
+        byte[] json = "{\"activeTeamColor\":\"WHITE\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(ChessGameCodec.isEncoded(json), "JSON should not look encoded.");
+        assertTrue(ChessGameCodec.isEncoded(ChessGameCodec.encode(new ChessGame())), "Encoded game should be recognized.");
+    }
+
+    @Test
+    @DisplayName("Corrupt data is rejected")
+    void testCorruptData() {
+        byte[] truncated = new byte[ChessGameCodec.VERSION_1_LENGTH - 1];
+        truncated[0] = ChessGameCodec.VERSION_1;
+        byte[] badPiece = ChessGameCodec.encode(new ChessGame());
+        badPiece[10] = (byte) 0xFF;
+        byte[] badVersion = ChessGameCodec.encode(new ChessGame());
+        badVersion[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> ChessGameCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> ChessGameCodec.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> ChessGameCodec.decode(badPiece));
+        assertThrows(IllegalArgumentException.class, () -> ChessGameCodec.decode(badVersion));
+    }
+}
@@ -0,0 +1,84 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChessJsonTest {
+    private static final String MIDDLEGAME = "r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/3P1N2/PPP2PPP/RNBQK2R b - -";
+
+    private final Gson gson = ChessJson.gson();
+    private final Gson reflective = new Gson();
+
+    @Test
+    @DisplayName("Games survive the compact form")
+    void testRoundTrip() {
+        ChessGame game = ChessGame.fromFen(MIDDLEGAME);
+        game.setGameOver(true);
+
+        ChessGame read = gson.fromJson(gson.toJson(game), ChessGame.class);
+
+        assertEquals(game, read, "Position should survive JSON.");
+        assertEquals(game.positionKey(), read.positionKey(), "Position key should survive JSON.");
+        assertTrue(read.isGameOver(), "Game over flag should survive JSON.");
+    }
+
+    @Test
+    @DisplayName("The board is written as one 64-character string")
+    void testCompactBoard() {
+        String json = gson.toJson(new ChessGame());
+        JsonObject tree = JsonParser.parseString(json).getAsJsonObject();
+
+        assertEquals("RNBQKBNRPPPPPPPP................................pppppppprnbqkbnr",
+                tree.get("gameBoard").getAsString(), "Board should be listed from a1 to h8.");
+        assertEquals("WHITE", tree.get("activeTeamColor").getAsString(), "Field names should be kept.");
+        assertTrue(json.length() * 4 < reflective.toJson(new ChessGame()).length(),
+                "Compact form should be a fraction of the reflective one.");
+    }
+
+    @Test
+    @DisplayName("Games written by reflection are still read")
+    void testReadsReflectiveForm() {
+        ChessGame game = ChessGame.fromFen(MIDDLEGAME);
+
+        ChessGame read = gson.fromJson(reflective.toJson(game), ChessGame.class);
+
+        assertEquals(game, read, "Reflective JSON should read as the same position.");
+        assertEquals(ChessGame.TeamColor.BLACK, read.getTeamTurn(), "Side to move should be read.");
+    }
+
+    @Test
+    @DisplayName("Moves keep the reflective shape")
+    void testMoveShape() {
+        ChessMove move = new ChessMove(ChessPosition.of(7, 2), ChessPosition.of(8, 1), ChessPiece.PieceType.QUEEN);
+        ChessMove quiet = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+
+        assertEquals(reflective.toJson(move), gson.toJson(move), "Promotion should be written like reflection does.");
+        assertEquals(reflective.toJson(quiet), gson.toJson(quiet), "Missing promotion should be left out.");
+        assertEquals(move, gson.fromJson(reflective.toJson(move), ChessMove.class), "Reflective move should be read.");
+        assertSame(ChessPosition.of(7, 2), gson.fromJson(gson.toJson(move), ChessMove.class).getStartPosition(),
+                "Positions should come from the shared table.");
+    }
+
+    @Test
+    @DisplayName("Malformed boards are rejected")
+    void testMalformedBoard() {
+        String shortBoard = "{\"gameBoard\":\"RNBQ\"}";
+        String unknownPiece = "{\"gameBoard\":\"" + "X".repeat(64) + "\"}";
+        String unknownColor = "{\"activeTeamColor\":\"GREEN\"}";
+        String unknownLegacyPiece = "{\"gameBoard\":{\"gameBoardGrid\":[[{\"teamColor\":\"WHITE\",\"pieceType\":\"WIZARD\"}]]}}";
+
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson(shortBoard, ChessGame.class),
+                "Short board should be rejected.");
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson(unknownPiece, ChessGame.class),
+                "Unknown piece should be rejected.");
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson(unknownColor, ChessGame.class),
+                "Unknown color should be rejected.");
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson(unknownLegacyPiece, ChessGame.class),
+                "Unknown piece type in the reflective form should be rejected.");
+    }
+}
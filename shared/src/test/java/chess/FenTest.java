@@ -0,0 +1,74 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenTest {
+
+    @Test
+    @DisplayName("A new game exports as the start position")
+    void testStartPosition() {
+        assertEquals(Fen.START_POSITION, new ChessGame().toFen(), "New game should export as the start position.");
+        assertEquals(new ChessGame(), ChessGame.fromFen(Fen.START_POSITION), "Start position should import as a new game.");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+            "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - -",
+            "rnbqkbnr/pp1ppppp/8/2pP4/8/8/PPP1PPPP/RNBQKBNR w Kq c6",
+            "8/8/8/8/8/8/8/k6K b - -"
+    })
+    @DisplayName("Records survive a round trip")
+    void testRoundTrip(String fen) {
+        ChessGame game = ChessGame.fromFen(fen);
+
+        assertEquals(fen, game.toFen(), "Exported record should match the imported one.");
+        assertEquals(game.positionKey(), ChessGame.fromFen(game.toFen()).positionKey(), "Position keys should match.");
+    }
+
+    @Test
+    @DisplayName("Move counters are accepted and dropped")
+    void testMoveCounters() {
+        ChessGame game = ChessGame.fromFen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - e3 0 1");
+
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - e3", game.toFen(),
+                "Halfmove and fullmove fields should be dropped.");
+        assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn(), "Black should be to move.");
+        assertEquals(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN),
+                game.getBoard().getPiece(new ChessPosition(4, 5)), "White pawn should be on e4.");
+    }
+
+    @Test
+    @DisplayName("Placement and side to move are enough")
+    void testShortRecord() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/4K2R b");
+
+        assertEquals("4k3/8/8/8/8/8/8/4K2R b - -", game.toFen(), "Missing fields should default to none.");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w - -",
+            "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w - -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNRR w - -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w - -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x - -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KX -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KKQ -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w qK -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w -K -",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - e4",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - x",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1 2"
+    })
+    @DisplayName("Malformed records are rejected")
+    void testMalformed(String fen) {
+        assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen(fen), "Record should be rejected: " + fen);
+    }
+}
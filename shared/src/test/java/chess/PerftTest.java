@@ -0,0 +1,93 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+    private static final long[] START_COUNTS = {1, 20, 400, 8902, 197281};
+    // no castling or en passant is possible in this position, so the published counts apply
+    private static final String PROMOTIONS = "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - -";
+    private static final long[] PROMOTION_COUNTS = {1, 24, 496, 9483};
+    // pins, checks and captures for both sides
+    private static final String MIDDLEGAME = "r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/3P1N2/PPP2PPP/RNBQK2R w - -";
+
+    @Test
+    @DisplayName("Start position matches published counts")
+    void testStartPosition() {
+        ChessGame game = new ChessGame();
+        Perft perft = new Perft(game);
+        for (int depth = 0; depth < START_COUNTS.length; depth++) {
+            assertEquals(START_COUNTS[depth], perft.count(depth), "Wrong node count at depth " + depth + ".");
+        }
+        assertEquals(0, game.getUndoDepth(), "Perft should leave no moves on the undo stack.");
+        assertEquals(new ChessGame(), game, "Perft should restore the starting position.");
+    }
+
+    @Test
+    @DisplayName("Promotion position matches published counts")
+    void testPromotions() {
+        ChessGame game = ChessGame.fromFen(PROMOTIONS);
+        Perft perft = new Perft(game);
+        for (int depth = 0; depth < PROMOTION_COUNTS.length; depth++) {
+            assertEquals(PROMOTION_COUNTS[depth], perft.count(depth), "Wrong node count at depth " + depth + ".");
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk counting gives the same totals as playing every leaf")
+    void testBulkCountingMatchesFullCount() {
+        ChessGame game = ChessGame.fromFen(PROMOTIONS);
+        assertEquals(new Perft(game, false).count(3), new Perft(game, true).count(3),
+                "Bulk and full counts should agree.");
+    }
+
+    @Test
+    @DisplayName("Per-piece calculators agree with the legal generator")
+    void testPieceMovesMatchGenerator() {
+        String[] positions = {Fen.START_POSITION, PROMOTIONS, MIDDLEGAME};
+        for (String fen : positions) {
+            ChessGame game = ChessGame.fromFen(fen);
+            Perft perft = new Perft(game);
+            for (int depth = 1; depth <= 3; depth++) {
+                assertEquals(perft.count(depth), perft.countWithPieceMoves(depth),
+                        "pieceMoves count differs at depth " + depth + " from " + fen);
+            }
+            assertEquals(ChessGame.fromFen(fen), game, "Counting should restore the position.");
+        }
+    }
+
+    @Test
+    @DisplayName("Divide sums to the total count")
+    void testDivide() {
+        Map<ChessMove, Long> divide = new Perft(new ChessGame()).divide(3);
+
+        assertEquals(20, divide.size(), "Divide should list every root move.");
+        assertEquals(8902, divide.values().stream().mapToLong(Long::longValue).sum(), "Divide should sum to the total.");
+        assertTrue(Perft.formatDivide(divide).contains("Nodes searched: 8902"), "Formatted output should include the total.");
+    }
+
+    @Test
+    @DisplayName("Parallel perft matches sequential perft")
+    void testParallelMatchesSequential() {
+        ChessGame game = new ChessGame();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(new Perft(game).divide(4), Perft.divideParallel(game, 4, true, pool),
+                    "Parallel divide should match sequential divide.");
+            assertEquals(197281, Perft.countParallel(game, 4, false, pool), "Parallel count should match.");
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(new ChessGame(), game, "Parallel perft should not modify the game.");
+    }
+
+    @Test
+    @DisplayName("Negative depth is rejected")
+    void testNegativeDepth() {
+        assertThrows(IllegalArgumentException.class, () -> new Perft(new ChessGame()).count(-1));
+    }
+}
@@ -0,0 +1,110 @@
+package websocket;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import org.junit.jupiter.api.*;
+import websocket.commands.MakeMoveCommand;
+import websocket.commands.UserGameCommand;
+import websocket.messages.ErrorMessage;
+import websocket.messages.LoadGameMessage;
+import websocket.messages.MoveMessage;
+import websocket.messages.NotificationMessage;
+import websocket.messages.ServerMessage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryProtocolTest {
+
+    private static UserGameCommand roundTrip(UserGameCommand command) {
+        return BinaryProtocol.decodeCommand(ByteBuffer.wrap(BinaryProtocol.encodeCommand(command)));
+    }
+
+    private static ServerMessage roundTrip(ServerMessage message) {
+        return BinaryProtocol.decodeMessage(ByteBuffer.wrap(BinaryProtocol.encodeMessage(message)));
+    }
+
+    @Test
+    @DisplayName("Commands survive binary encoding")
+    void testCommands() {
+        UserGameCommand connect = roundTrip(
+                new UserGameCommand(UserGameCommand.CommandType.CONNECT, "token", 42, true));
+        UserGameCommand leave = roundTrip(
+                new UserGameCommand(UserGameCommand.CommandType.LEAVE, null, null));
+
+        assertEquals(UserGameCommand.CommandType.CONNECT, connect.getCommandType(), "Type should survive.");
+        assertEquals("token", connect.getAuthToken(), "Auth token should survive.");
+        assertEquals(42, connect.getGameID(), "Game ID should survive.");
+        assertTrue(connect.wantsMoveUpdates(), "Move updates flag should survive.");
+        assertNull(leave.getAuthToken(), "Missing auth token should stay missing.");
+        assertNull(leave.getGameID(), "Missing game ID should stay missing.");
+        assertFalse(leave.wantsMoveUpdates(), "Move updates should be off by default.");
+    }
+
+    @Test
+    @DisplayName("Moves, including promotions, survive binary encoding")
+    void testMakeMove() {
+        ChessMove move = new ChessMove(ChessPosition.of(7, 1), ChessPosition.of(8, 1), ChessPiece.PieceType.KNIGHT);
+
+        UserGameCommand decoded = roundTrip(new MakeMoveCommand("token", 7, move));
+
+        assertInstanceOf(MakeMoveCommand.class, decoded, "MAKE_MOVE should decode as a move command.");
+        assertEquals(move, ((MakeMoveCommand) decoded).getMove(), "Move should survive.");
+        assertEquals(7, decoded.getGameID(), "Game ID should survive.");
+    }
+
+    @Test
+    @DisplayName("Server messages survive binary encoding")
+    void testMessages() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove move = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        game.makeMove(move);
+
+        LoadGameMessage loadGame = (LoadGameMessage) roundTrip(new LoadGameMessage(game, 3));
+        MoveMessage moveMessage = (MoveMessage) roundTrip(new MoveMessage(move, 4, game.positionKey()));
+        ErrorMessage error = (ErrorMessage) roundTrip(new ErrorMessage("Error: bad move ♞"));
+        NotificationMessage notification = (NotificationMessage) roundTrip(new NotificationMessage("white moved"));
+
+        assertEquals(game, loadGame.getGame(), "Game should survive.");
+        assertEquals(3, loadGame.getSequence(), "Sequence should survive.");
+        assertEquals(move, moveMessage.getMove(), "Move should survive.");
+        assertEquals(4, moveMessage.getSequence(), "Sequence should survive.");
+        assertEquals(game.positionKey(), moveMessage.getPositionKey(), "Position key should survive.");
+        assertEquals("Error: bad move ♞", error.getErrorMessage(), "Non-ASCII text should survive.");
+        assertEquals("white moved", notification.getMessage(), "Text should survive.");
+    }
+
+    @Test
+    @DisplayName("Binary frames are much smaller than JSON")
+    void testSize() {
+        byte[] loadGame = BinaryProtocol.encodeMessage(new LoadGameMessage(new ChessGame(), 1));
+
+        assertTrue(loadGame.length < 64, "A board update should fit in a few dozen bytes, was " + loadGame.length);
+    }
+
+    @Test
+    @DisplayName("Truncated and unknown frames are rejected")
+    void testMalformed() {
+        byte[] command = BinaryProtocol.encodeCommand(
+                new UserGameCommand(UserGameCommand.CommandType.CONNECT, "token", 1));
+        byte[] truncated = Arrays.copyOf(command, command.length - 2);
+        byte[] move = BinaryProtocol.encodeCommand(new MakeMoveCommand("token", 1,
+                new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null)));
+        move[move.length - 2] = (byte) 0xFF;
+        move[move.length - 1] = (byte) 0xFF;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryProtocol.decodeCommand(ByteBuffer.wrap(truncated)), "Truncated command should be rejected.");
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryProtocol.decodeCommand(ByteBuffer.wrap(move)), "Unknown promotion code should be rejected.");
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryProtocol.decodeMessage(ByteBuffer.wrap(new byte[]{(byte) 200})), "Unknown type should be rejected.");
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryProtocol.decodeMessage(ByteBuffer.wrap(new byte[0])), "Empty frame should be rejected.");
+    }
+}
@@ -0,0 +1,57 @@
+package websocket.messages;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveMessageTest {
+    private final Gson gson = new Gson();
+
+    @Test
+    @DisplayName("Applying a received move reproduces the server's position")
+    void testApplyMove() throws InvalidMoveException {
+        ChessGame server = new ChessGame();
+        ChessGame client = ChessGame.fromFen(server.toFen());
+        ChessMove move = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        server.makeMove(move);
+
+        String json = gson.toJson(new MoveMessage(move, 1, server.positionKey()));
+        MoveMessage received = gson.fromJson(json, MoveMessage.class);
+        client.makeMove(received.getMove());
+
+        assertEquals(ServerMessage.ServerMessageType.MOVE, received.getServerMessageType(), "Type should survive JSON.");
+        assertEquals(1, received.getSequence(), "Sequence should survive JSON.");
+        assertEquals(received.getPositionKey(), client.positionKey(), "Client position should match the server's.");
+    }
+
+    @Test
+    @DisplayName("A client that missed a move sees a different position")
+    void testMissedMove() throws InvalidMoveException {
+        ChessGame server = new ChessGame();
+        ChessGame client = new ChessGame();
+        server.makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        ChessMove reply = new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null);
+        server.makeMove(reply);
+
+        client.setTeamTurn(ChessGame.TeamColor.BLACK);
+        client.makeMove(reply);
+
+        assertNotEquals(server.positionKey(), client.positionKey(), "Position keys should expose the missed move.");
+    }
+
+    @Test
+    @DisplayName("Board updates without a sequence read as sequence zero")
+    void testLoadGameWithoutSequence() {
+        String json = gson.toJson(new LoadGameMessage(new ChessGame())).replace("\"sequence\":0,", "");
+        LoadGameMessage received = gson.fromJson(json, LoadGameMessage.class);
+
+        assertFalse(json.contains("sequence"), "Test message should not carry a sequence.");
+        assertEquals(0, received.getSequence(), "Missing sequence should read as zero.");
+        assertNotNull(received.getGame(), "Game should still be read.");
+    }
+}